@@ -0,0 +1,33 @@
+package com.reliaquest.api.client;
+
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Routes every outbound request through the {@link UpstreamRateLimiter} and reports back how the upstream answered.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+    private final UpstreamRateLimiter rateLimiter;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        rateLimiter.acquire();
+
+        var response = execution.execute(request, body);
+        if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            rateLimiter.onThrottled(
+                    UpstreamRateLimiter.parseRetryAfter(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)));
+        } else {
+            rateLimiter.onSuccess();
+        }
+        return response;
+    }
+}
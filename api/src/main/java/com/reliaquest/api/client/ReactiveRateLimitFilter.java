@@ -0,0 +1,44 @@
+package com.reliaquest.api.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code WebClient} counterpart of {@link RateLimitInterceptor}. Waiting for a token is a timer on the event loop
+ * rather than a parked thread.
+ */
+@RequiredArgsConstructor
+public class ReactiveRateLimitFilter implements ExchangeFilterFunction {
+    private final UpstreamRateLimiter rateLimiter;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> acquire(System.nanoTime() + rateLimiter.getMaxWait().toNanos()))
+                .then(Mono.defer(() -> next.exchange(request)))
+                .doOnNext(response -> {
+                    if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        rateLimiter.onThrottled(UpstreamRateLimiter.parseRetryAfter(
+                                response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER)));
+                    } else {
+                        rateLimiter.onSuccess();
+                    }
+                });
+    }
+
+    private Mono<Void> acquire(long deadline) {
+        var wait = rateLimiter.tryAcquire();
+        if (wait.isZero()) {
+            return Mono.empty();
+        }
+        if (System.nanoTime() + wait.toNanos() - deadline > 0) {
+            return Mono.error(new UpstreamThrottledException(wait));
+        }
+        return Mono.delay(wait).then(Mono.defer(() -> acquire(deadline)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collapses concurrent identical upstream calls into one.
+ * <p>
+ * The first caller for a key runs the call; everyone arriving while it is in flight waits for and shares its result,
+ * or whatever it threw, errors included. Once the call completes the key is released, so later callers start a fresh
+ * flight.
+ */
+@Slf4j
+public class SingleFlight implements MeterBinder {
+    private final ConcurrentHashMap<String, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder flights = new LongAdder();
+    private final LongAdder coalescedCallers = new LongAdder();
+    // Set once bound to a registry; flights before that only count towards the totals
+    private volatile DistributionSummary flightCallers;
+
+    /**
+     * Runs the call, or joins the identical call already in flight.
+     *
+     * @param key  identifies the call, typically its upstream URL
+     * @param call the upstream call
+     * @return the call's result, shared by every caller of the flight
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String key, Supplier<V> call) {
+        var flight = new Flight<V>();
+        var existing = (Flight<V>) inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.callers.incrementAndGet();
+            return existing.await();
+        }
+
+        try {
+            var value = call.get();
+            flight.result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors too, or the callers that joined would wait for a result that never comes
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+            record(key, flight.callers.get());
+        }
+    }
+
+    public long getFlights() {
+        return flights.sum();
+    }
+
+    /**
+     * @return callers that joined a flight instead of making their own call
+     */
+    public long getCoalescedCallers() {
+        return coalescedCallers.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.upstream.flights", flights, LongAdder::doubleValue)
+                .description("Upstream calls made on behalf of one or more callers")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.coalesced.callers", coalescedCallers, LongAdder::doubleValue)
+                .description("Callers that shared another caller's upstream call")
+                .register(registry);
+        Gauge.builder("employee.upstream.flights.active", inFlight, ConcurrentHashMap::size)
+                .description("Upstream calls currently in flight")
+                .register(registry);
+        flightCallers = DistributionSummary.builder("employee.upstream.flight.callers")
+                .description("Callers that shared each upstream call, the caller that made it included")
+                .baseUnit("callers")
+                .register(registry);
+    }
+
+    private void record(String key, int callers) {
+        flights.increment();
+        coalescedCallers.add(callers - 1);
+        var summary = flightCallers;
+        if (summary != null) {
+            summary.record(callers);
+        }
+        if (callers > 1) {
+            log.debug("Coalesced {} callers into one call to {}", callers, key);
+        }
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+
+        private V await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
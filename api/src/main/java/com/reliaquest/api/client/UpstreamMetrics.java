@@ -0,0 +1,96 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Records every outbound call to the upstream employee service: a latency histogram per endpoint and status,
+ * counters for 429s and 5xx responses, and the size of every response body.
+ * <p>
+ * Calls are tagged with a fixed endpoint name rather than their URI, so per-employee URLs do not explode the number
+ * of time series.
+ */
+public class UpstreamMetrics {
+    private final MeterRegistry registry;
+    private final String basePath;
+
+    public UpstreamMetrics(MeterRegistry registry, String baseUrl) {
+        this.registry = registry;
+        this.basePath = URI.create(baseUrl).getPath();
+    }
+
+    /**
+     * @return the endpoint name a call to the given method and URI is recorded under
+     */
+    public String endpoint(HttpMethod method, URI uri) {
+        var item = uri.getPath().length() > basePath.length() + 1;
+        if (HttpMethod.GET.equals(method)) {
+            if (uri.getPath().equals(basePath + "/changes")) {
+                return "changes";
+            }
+            return item ? "employee-by-id" : "all-employees";
+        }
+        if (HttpMethod.POST.equals(method)) {
+            return "create";
+        }
+        if (HttpMethod.DELETE.equals(method)) {
+            return "delete";
+        }
+        return method.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Records a call the upstream answered.
+     *
+     * @param endpoint     the endpoint name from {@link #endpoint(HttpMethod, URI)}
+     * @param status       the response status code
+     * @param elapsedNanos time until the response headers arrived
+     */
+    public void recordExchange(String endpoint, int status, long elapsedNanos) {
+        timer(endpoint, Integer.toString(status)).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            counter("employee.upstream.throttled", endpoint).increment();
+        } else if (status >= 500) {
+            counter("employee.upstream.server.errors", endpoint).increment();
+        }
+    }
+
+    /**
+     * Records a call that failed without a response, e.g. a connect or read timeout.
+     */
+    public void recordFailure(String endpoint, long elapsedNanos) {
+        timer(endpoint, "IO_ERROR").record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records how many body bytes were read from one upstream response.
+     */
+    public void recordResponseBytes(String endpoint, long bytes) {
+        DistributionSummary.builder("employee.upstream.response.size")
+                .description("Bytes read from upstream response bodies")
+                .baseUnit("bytes")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(bytes);
+    }
+
+    private Timer timer(String endpoint, String status) {
+        return Timer.builder("employee.upstream.requests")
+                .description("Latency of calls to the upstream employee service")
+                .tag("endpoint", endpoint)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter counter(String name, String endpoint) {
+        return Counter.builder(name).tag("endpoint", endpoint).register(registry);
+    }
+}
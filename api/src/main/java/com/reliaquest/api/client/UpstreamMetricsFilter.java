@@ -0,0 +1,29 @@
+package com.reliaquest.api.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code WebClient} counterpart of {@link UpstreamMetricsInterceptor}. Records latency and status of every call;
+ * response sizes are left to the blocking client, which reads bodies as streams.
+ */
+@RequiredArgsConstructor
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+    private final UpstreamMetrics metrics;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        var endpoint = metrics.endpoint(request.method(), request.url());
+        return Mono.defer(() -> {
+            var start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response ->
+                            metrics.recordExchange(endpoint, response.statusCode().value(), System.nanoTime() - start))
+                    .doOnError(e -> metrics.recordFailure(endpoint, System.nanoTime() - start));
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Feeds every {@link org.springframework.web.client.RestTemplate} call into {@link UpstreamMetrics}. The response
+ * body is counted as it is read and its size recorded when the response is closed.
+ */
+@RequiredArgsConstructor
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+    private final UpstreamMetrics metrics;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        var endpoint = metrics.endpoint(request.getMethod(), request.getURI());
+        var start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            metrics.recordFailure(endpoint, System.nanoTime() - start);
+            throw e;
+        }
+        metrics.recordExchange(endpoint, response.getStatusCode().value(), System.nanoTime() - start);
+        return new CountingResponse(response, endpoint);
+    }
+
+    private final class CountingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final String endpoint;
+        private CountingInputStream body;
+
+        CountingResponse(ClientHttpResponse delegate, String endpoint) {
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                metrics.recordResponseBytes(endpoint, body.count);
+            }
+            delegate.close();
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            var value = super.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            var skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.RateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client-side token bucket that paces calls to the upstream employee service and learns its limit from 429s.
+ * <p>
+ * The upstream lets a burst of requests through and then rejects requests until its allowance has refilled. The bucket
+ * approximates that without knowing the upstream's refill rate: it hands out {@code budget} tokens, and once empty
+ * refills in full only after {@code window} has passed since the last token was taken. Every 429 teaches it something:
+ * <ul>
+ *   <li>if some requests of the current window succeeded, the budget shrinks to that count;</li>
+ *   <li>if the very first request after a refill is rejected, the window was too short and doubles;</li>
+ *   <li>a Retry-After header, when present, sets the next refill time exactly.</li>
+ * </ul>
+ * What a 429 took away is probed for again once the upstream stops objecting: after {@code recoveryWindows}
+ * consecutive windows that spent the whole budget without a 429, a widened window halves back toward the initial one,
+ * and once it is back there the budget grows by one. A probe the upstream rejects is undone by the next 429.
+ * Callers that find the bucket empty are queued until the next refill, up to a bounded wait, and otherwise fail fast
+ * with {@link UpstreamThrottledException} rather than sending a request that is bound to be rejected.
+ */
+@Slf4j
+public class UpstreamRateLimiter implements MeterBinder {
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoTime;
+
+    private int budget;
+    private long windowNanos;
+    private int tokens;
+    private long refillAtNanos;
+    private int successesThisWindow;
+    private boolean throttledThisWindow;
+    private int cleanWindows;
+
+    public UpstreamRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    UpstreamRateLimiter(RateLimitProperties properties, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.budget = Math.max(1, properties.getInitialBudget());
+        this.windowNanos = properties.getInitialWindow().toNanos();
+        this.tokens = budget;
+        this.refillAtNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes one token, waiting up to the configured maximum for the bucket to refill.
+     *
+     * @throws UpstreamThrottledException if no token becomes available within the maximum wait
+     */
+    public void acquire() {
+        var deadline = nanoTime.getAsLong() + properties.getMaxWait().toNanos();
+        while (true) {
+            var wait = tryAcquire();
+            if (wait.isZero()) {
+                return;
+            }
+            if (nanoTime.getAsLong() + wait.toNanos() - deadline > 0) {
+                throw new UpstreamThrottledException(wait);
+            }
+            sleep(wait.toNanos());
+        }
+    }
+
+    /**
+     * Takes one token if one is available, without waiting.
+     *
+     * @return {@link Duration#ZERO} if a token was taken, otherwise how long until the bucket refills
+     */
+    public synchronized Duration tryAcquire() {
+        var now = nanoTime.getAsLong();
+        if (tokens == 0 && now - refillAtNanos >= 0) {
+            refill();
+        }
+        if (tokens > 0) {
+            if (--tokens == 0) {
+                refillAtNanos = now + windowNanos;
+            }
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(refillAtNanos - now);
+    }
+
+    /**
+     * Records an accepted upstream response.
+     */
+    public synchronized void onSuccess() {
+        successesThisWindow++;
+    }
+
+    /**
+     * Records a 429 from the upstream and adjusts the learned budget and window.
+     *
+     * @param retryAfter the upstream's Retry-After hint, or {@code null} if it sent none
+     */
+    public synchronized void onThrottled(Duration retryAfter) {
+        var now = nanoTime.getAsLong();
+        if (throttledThisWindow && now - refillAtNanos < 0) {
+            // Other requests of the same burst already taught us about this window
+            return;
+        }
+
+        if (successesThisWindow > 0) {
+            budget = Math.min(budget, successesThisWindow);
+        } else {
+            windowNanos = Math.min(windowNanos * 2, properties.getMaxWindow().toNanos());
+        }
+
+        tokens = 0;
+        refillAtNanos = now + (retryAfter != null ? retryAfter.toNanos() : windowNanos);
+        throttledThisWindow = true;
+        log.warn(
+                "Upstream throttled, pausing calls for {}s with a learned budget of {} per {}s window",
+                Duration.ofNanos(refillAtNanos - now).toSeconds(),
+                budget,
+                Duration.ofNanos(windowNanos).toSeconds());
+    }
+
+    /**
+     * @return how long a caller may be queued waiting for a token
+     */
+    public Duration getMaxWait() {
+        return properties.getMaxWait();
+    }
+
+    /**
+     * Parses a Retry-After header in its delay-seconds form.
+     *
+     * @param value the header value, may be {@code null}
+     * @return the delay, or {@code null} if absent or not in delay-seconds form
+     */
+    public static Duration parseRetryAfter(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            // HTTP-date form is not used by the upstream, fall back to the learned window
+            return null;
+        }
+    }
+
+    public synchronized int getBudget() {
+        return budget;
+    }
+
+    public synchronized Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.rate.limit.budget", this, UpstreamRateLimiter::getBudget)
+                .description("Requests the upstream is believed to accept per window")
+                .register(registry);
+        TimeGauge.builder("employee.rate.limit.window", this, TimeUnit.MILLISECONDS, limiter -> limiter.getWindow()
+                        .toMillis())
+                .description("Learned upstream cool-down window")
+                .register(registry);
+    }
+
+    private void refill() {
+        if (throttledThisWindow || successesThisWindow < budget) {
+            cleanWindows = 0;
+        } else if (++cleanWindows >= properties.getRecoveryWindows()) {
+            probe();
+        }
+        tokens = budget;
+        successesThisWindow = 0;
+        throttledThisWindow = false;
+    }
+
+    private void probe() {
+        cleanWindows = 0;
+        var initialWindowNanos = properties.getInitialWindow().toNanos();
+        if (windowNanos > initialWindowNanos) {
+            windowNanos = Math.max(initialWindowNanos, windowNanos / 2);
+        } else {
+            budget++;
+        }
+        log.info(
+                "Upstream accepted {} full windows, probing a budget of {} per {}s window",
+                properties.getRecoveryWindows(),
+                budget,
+                Duration.ofNanos(windowNanos).toSeconds());
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamThrottledException(Duration.ofNanos(nanos));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown instead of sending a request the upstream would reject with 429, because no request budget frees up within
+ * the caller's maximum wait.
+ */
+@Getter
+public class UpstreamThrottledException extends RestClientException {
+    private final Duration retryAfter;
+
+    public UpstreamThrottledException(Duration retryAfter) {
+        super("Upstream request budget exhausted, retry after " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+    }
+}
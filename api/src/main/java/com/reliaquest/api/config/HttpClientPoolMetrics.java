@@ -0,0 +1,112 @@
+package com.reliaquest.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.core5.http.ConnectionReuseStrategy;
+import org.apache.hc.core5.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+
+/**
+ * Counts how often the upstream connection pool opens a new connection versus reusing a kept-alive one.
+ * <p>
+ * Plugs into the HTTP client as both its connection factory and its reuse strategy, so every opened connection and
+ * every completed exchange is observed without wrapping the client itself.
+ * <p>
+ * Published under {@code employee.http.pool.*} once bound to a {@link MeterRegistry}.
+ */
+public class HttpClientPoolMetrics implements MeterBinder {
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder exchanges = new LongAdder();
+    private final LongAdder connectionsKeptAlive = new LongAdder();
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * @return a connection factory that counts every new connection before handing it to the pool
+     */
+    public HttpConnectionFactory<ManagedHttpClientConnection> connectionFactory() {
+        return new HttpConnectionFactory<>() {
+            @Override
+            public ManagedHttpClientConnection createConnection(Socket socket) throws IOException {
+                connectionsOpened.increment();
+                return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+            }
+        };
+    }
+
+    /**
+     * @return the default reuse strategy, counting how many exchanges left their connection reusable
+     */
+    public ConnectionReuseStrategy reuseStrategy() {
+        return (request, response, context) -> {
+            var keepAlive = DefaultConnectionReuseStrategy.INSTANCE.keepAlive(request, response, context);
+            exchanges.increment();
+            if (keepAlive) {
+                connectionsKeptAlive.increment();
+            }
+            return keepAlive;
+        };
+    }
+
+    void bind(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.http.pool.connections.opened", connectionsOpened, LongAdder::doubleValue)
+                .register(registry);
+        FunctionCounter.builder("employee.http.pool.exchanges", exchanges, LongAdder::doubleValue)
+                .register(registry);
+        FunctionCounter.builder(
+                        "employee.http.pool.connections.kept.alive", connectionsKeptAlive, LongAdder::doubleValue)
+                .register(registry);
+        Gauge.builder("employee.http.pool.reuse.ratio", this, HttpClientPoolMetrics::getReuseRatio)
+                .register(registry);
+        Gauge.builder("employee.http.pool.leased", this, HttpClientPoolMetrics::getLeased)
+                .register(registry);
+        Gauge.builder("employee.http.pool.available", this, HttpClientPoolMetrics::getAvailable)
+                .register(registry);
+        Gauge.builder("employee.http.pool.pending", this, HttpClientPoolMetrics::getPending)
+                .register(registry);
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    public long getExchanges() {
+        return exchanges.sum();
+    }
+
+    public long getConnectionsKeptAlive() {
+        return connectionsKeptAlive.sum();
+    }
+
+    /**
+     * @return share of exchanges that ran on an already open connection, between 0 and 1
+     */
+    public double getReuseRatio() {
+        var total = getExchanges();
+        return total == 0 ? 0 : Math.max(0, 1 - (double) getConnectionsOpened() / total);
+    }
+
+    public int getLeased() {
+        return connectionManager == null ? 0 : connectionManager.getTotalStats().getLeased();
+    }
+
+    public int getAvailable() {
+        return connectionManager == null ? 0 : connectionManager.getTotalStats().getAvailable();
+    }
+
+    public int getPending() {
+        return connectionManager == null ? 0 : connectionManager.getTotalStats().getPending();
+    }
+}
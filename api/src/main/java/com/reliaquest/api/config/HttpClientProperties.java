@@ -0,0 +1,53 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection pool and timeout settings for the HTTP client used to reach the upstream employee service.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Maximum number of pooled connections across all routes.
+     */
+    private int maxConnections = 50;
+
+    /**
+     * Maximum number of pooled connections to a single host.
+     */
+    private int maxConnectionsPerRoute = 20;
+
+    /**
+     * Time allowed to establish a TCP connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Time allowed between two packets while reading a response.
+     */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Time allowed for the whole response to start arriving once the request is sent.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Time a caller may wait to lease a connection from an exhausted pool.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Idle pooled connections are closed after this long.
+     */
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    /**
+     * Pooled connections are never reused after this long, regardless of activity.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
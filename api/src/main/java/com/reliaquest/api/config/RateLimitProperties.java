@@ -0,0 +1,44 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Starting point and bounds for the client-side limiter pacing calls to the upstream employee service.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether outbound calls are paced at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requests assumed to be allowed per window before any 429 has been seen.
+     */
+    private int initialBudget = 10;
+
+    /**
+     * Cool-down assumed after the budget is spent, before any 429 has been seen.
+     */
+    private Duration initialWindow = Duration.ofSeconds(30);
+
+    /**
+     * Longest cool-down the limiter will learn when the upstream gives no Retry-After.
+     */
+    private Duration maxWindow = Duration.ofMinutes(2);
+
+    /**
+     * Longest a caller is queued waiting for budget before failing fast.
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /**
+     * Consecutive windows that spend the whole budget without a 429 before the limiter probes for more: first by
+     * shortening a widened window, then by raising the budget by one.
+     */
+    private int recoveryWindows = 5;
+}
@@ -1,19 +1,150 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.RateLimitInterceptor;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.client.UpstreamMetrics;
+import com.reliaquest.api.client.UpstreamMetricsInterceptor;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
     /**
-     * Creates a RestTemplate bean for HTTP client operations.
+     * Creates the metrics holder observing the upstream connection pool.
      *
+     * @return a {@link HttpClientPoolMetrics} instance
+     */
+    @Bean
+    public HttpClientPoolMetrics httpClientPoolMetrics() {
+        return new HttpClientPoolMetrics();
+    }
+
+    /**
+     * Creates the pooled connection manager shared by all upstream calls.
+     *
+     * @param properties pool sizing and socket timeouts
+     * @param metrics    metrics holder counting opened connections
+     * @return a {@link PoolingHttpClientConnectionManager} instance
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(
+            HttpClientProperties properties, HttpClientPoolMetrics metrics) {
+        var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setConnectionFactory(metrics.connectionFactory())
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(
+                                Timeout.ofMilliseconds(properties.getConnectTimeout().toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(properties.getTimeToLive().toMillis()))
+                        .build())
+                .build();
+        metrics.bind(connectionManager);
+        return connectionManager;
+    }
+
+    /**
+     * Creates the keep-alive HTTP client backing the {@link RestTemplate}.
+     *
+     * @param connectionManager the pooled connection manager
+     * @param properties        request level timeouts and idle eviction
+     * @param metrics           metrics holder counting connection reuse
+     * @return a {@link CloseableHttpClient} instance
+     */
+    @Bean
+    public CloseableHttpClient upstreamHttpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            HttpClientProperties properties,
+            HttpClientPoolMetrics metrics) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setConnectionReuseStrategy(metrics.reuseStrategy())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(
+                                Timeout.ofMilliseconds(properties.getConnectionRequestTimeout().toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(properties.getResponseTimeout().toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleEviction().toMillis()))
+                .build();
+    }
+
+    /**
+     * Creates the single-flight layer that lets concurrent identical upstream calls share one request.
+     *
+     * @return a {@link SingleFlight} instance
+     */
+    @Bean
+    public SingleFlight upstreamSingleFlight() {
+        return new SingleFlight();
+    }
+
+    /**
+     * Creates the recorder for latency, status and response size of every upstream call, shared by the blocking and
+     * reactive clients.
+     *
+     * @param registry           the application's meter registry
+     * @param upstreamProperties the upstream location, used to name endpoints
+     * @return a {@link UpstreamMetrics} instance
+     */
+    @Bean
+    public UpstreamMetrics upstreamMetrics(MeterRegistry registry, UpstreamProperties upstreamProperties) {
+        return new UpstreamMetrics(registry, upstreamProperties.getBaseUrl());
+    }
+
+    /**
+     * Creates the limiter pacing outbound calls under the upstream's learned request budget.
+     *
+     * @param properties starting budget, window and maximum queueing time
+     * @return a {@link UpstreamRateLimiter} instance
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.rate-limit", name = "enabled", matchIfMissing = true)
+    public UpstreamRateLimiter upstreamRateLimiter(RateLimitProperties properties) {
+        return new UpstreamRateLimiter(properties);
+    }
+
+    /**
+     * Creates a RestTemplate bean for HTTP client operations, backed by the pooled upstream client.
+     *
+     * @param builder     the Boot-configured template builder
+     * @param httpClient  the pooled upstream client
+     * @param rateLimiter the upstream rate limiter, if enabled
+     * @param metrics     recorder for every upstream call
      * @return a {@link RestTemplate} instance
      */
     @Bean
-    public RestTemplate getRestTemplate() {
-        return new RestTemplate();
+    public RestTemplate getRestTemplate(
+            RestTemplateBuilder builder,
+            CloseableHttpClient httpClient,
+            ObjectProvider<UpstreamRateLimiter> rateLimiter,
+            UpstreamMetrics metrics) {
+        var restTemplateBuilder =
+                builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient));
+        var limiter = rateLimiter.getIfAvailable();
+        if (limiter != null) {
+            restTemplateBuilder = restTemplateBuilder.additionalInterceptors(new RateLimitInterceptor(limiter));
+        }
+        // Innermost, so time spent waiting for a rate limit token is not counted as upstream latency
+        return restTemplateBuilder
+                .additionalInterceptors(new UpstreamMetricsInterceptor(metrics))
+                .build();
     }
 }
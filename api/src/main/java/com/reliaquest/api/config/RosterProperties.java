@@ -0,0 +1,81 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.service.RosterEndpoint;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for the in-memory roster snapshot shared by all employee reads.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.roster")
+public class RosterProperties {
+
+    /**
+     * How long a fetched roster is considered fresh.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * How long before expiry a background refresh is started, so readers never wait on the upstream.
+     */
+    private Duration refreshAhead = Duration.ofSeconds(10);
+
+    /**
+     * Upper bound on the age of a roster that may still be served while it is revalidated or the upstream is failing.
+     */
+    private Duration maxStaleness = Duration.ofMinutes(5);
+
+    /**
+     * Per-endpoint overrides of {@link #maxStaleness}.
+     */
+    private Map<RosterEndpoint, Duration> endpointMaxStaleness = new LinkedHashMap<>();
+
+    /**
+     * Delay before the first retry of a failed background revalidation. Doubles on every further failure.
+     */
+    private Duration revalidationBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Longest delay between two retries of a failed background revalidation.
+     */
+    private Duration maxRevalidationBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Whether a roster refresh first asks the upstream for the changes since the held roster, and only refetches the
+     * whole roster when the upstream no longer has them.
+     */
+    private boolean changeFeed = true;
+
+    /**
+     * How the highest-salary and top-ten-earners endpoints are answered.
+     */
+    private Aggregation aggregation = Aggregation.SNAPSHOT;
+
+    public Duration maxStalenessFor(RosterEndpoint endpoint) {
+        return endpointMaxStaleness.getOrDefault(endpoint, maxStaleness);
+    }
+
+    /**
+     * @return the largest staleness any endpoint tolerates
+     */
+    public Duration longestMaxStaleness() {
+        return endpointMaxStaleness.values().stream()
+                .reduce(maxStaleness, (left, right) -> left.compareTo(right) >= 0 ? left : right);
+    }
+
+    public enum Aggregation {
+        /**
+         * From the indexes of the shared roster snapshot.
+         */
+        SNAPSHOT,
+        /**
+         * From the shared roster snapshot while the cache holds a usable one, otherwise by streaming the upstream roster
+         * and keeping only the running answer, so the roster is never fetched into memory for these endpoints.
+         */
+        STREAMING
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Location of the upstream employee service and how it is called.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.upstream")
+public class UpstreamProperties {
+
+    /**
+     * Base URL of the upstream employee resource.
+     */
+    private String baseUrl = "http://localhost:8112/api/v1/employee";
+
+    /**
+     * Which {@link com.reliaquest.api.service.EmployeeService} implementation calls the upstream.
+     */
+    private ClientMode mode = ClientMode.BLOCKING;
+
+    /**
+     * Largest number of employees sent to the upstream in one bulk create request. Larger imports are split.
+     */
+    private int bulkChunkSize = 1000;
+
+    public enum ClientMode {
+        /**
+         * {@link org.springframework.web.client.RestTemplate} on a pooled Apache HttpClient, one thread per call.
+         */
+        BLOCKING,
+
+        /**
+         * {@link org.springframework.web.reactive.function.client.WebClient} on Reactor Netty, calls multiplexed over
+         * a few event loop threads. The api's own request threads still wait for every call they make.
+         */
+        REACTIVE
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.ReactiveRateLimitFilter;
+import com.reliaquest.api.client.UpstreamMetrics;
+import com.reliaquest.api.client.UpstreamMetricsFilter;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnProperty(prefix = "employee.upstream", name = "mode", havingValue = "reactive")
+public class WebClientConfig {
+
+    /**
+     * Creates the Reactor Netty connection pool shared by all reactive upstream calls. Callers waiting for a pooled
+     * connection are queued without holding a thread.
+     *
+     * @param properties pool sizing and idle eviction, shared with the blocking client
+     * @return a {@link ConnectionProvider} instance
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("employee-upstream")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleEviction())
+                .maxLifeTime(properties.getTimeToLive())
+                .build();
+    }
+
+    /**
+     * Creates a WebClient bean for non-blocking calls to the upstream employee service.
+     *
+     * @param builder            the Boot-configured client builder
+     * @param connectionProvider the upstream connection pool
+     * @param properties         connect and response timeouts
+     * @param rateLimiter        the upstream rate limiter, if enabled
+     * @param metrics            recorder for every upstream call
+     * @return a {@link WebClient} instance
+     */
+    @Bean
+    public WebClient upstreamWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider connectionProvider,
+            HttpClientProperties properties,
+            ObjectProvider<UpstreamRateLimiter> rateLimiter,
+            UpstreamMetrics metrics) {
+        var httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(
+                        properties.getConnectTimeout().toMillis()))
+                .responseTimeout(properties.getResponseTimeout());
+
+        var webClientBuilder = builder.clientConnector(new ReactorClientHttpConnector(httpClient));
+        var limiter = rateLimiter.getIfAvailable();
+        if (limiter != null) {
+            webClientBuilder = webClientBuilder.filter(new ReactiveRateLimitFilter(limiter));
+        }
+        return webClientBuilder.filter(new UpstreamMetricsFilter(metrics)).build();
+    }
+}
@@ -1,18 +1,30 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.model.BulkCreateResult;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.service.EmployeeService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller for managing employee operations.
@@ -22,15 +34,20 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/v1/employee")
 public class EmployeeController implements IEmployeeController<Employee, EmployeeInput> {
     private final EmployeeService employeeService;
+    private final ObjectWriter employeeWriter;
 
     /**
      * Constructs an EmployeeController with the specified employee service.
      *
      * @param employeeService the service to handle employee operations
+     * @param objectMapper    the application's JSON mapper, used to write streamed employees
      */
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        // Let the servlet buffer decide when to hit the socket instead of flushing after every employee
+        this.employeeWriter =
+                objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
@@ -49,6 +66,45 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         }
     }
 
+    /**
+     * Streams all employees as newline-delimited JSON, selected with {@code Accept: application/x-ndjson}.
+     * Employees are written as they are read, so the roster is never buffered and the first line goes out right away.
+     *
+     * @return ResponseEntity whose body writes one employee per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = out -> {
+            try (var generator = employeeWriter.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                employeeService.streamAllEmployees(new Consumer<>() {
+                    private boolean first = true;
+
+                    @Override
+                    public void accept(Employee employee) {
+                        try {
+                            employeeWriter.writeValue(generator, employee);
+                            generator.writeRaw('\n');
+                            if (first) {
+                                generator.flush();
+                                first = false;
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                log.warn("Client went away while streaming employees");
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                log.error("Error streaming all employees", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Searches for employees by name using case-insensitive partial matching.
      *
@@ -145,6 +201,27 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         }
     }
 
+    /**
+     * Creates many employees at once. Large imports are sent to the upstream in chunks, and every input gets its own
+     * result, so a rejected input or a failed chunk does not abort the rest of the import.
+     *
+     * @param employeeInputs the employee data for the employees to create
+     * @return ResponseEntity containing one result per input, in input order
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkCreateResult>> createEmployees(@RequestBody List<EmployeeInput> employeeInputs) {
+        try {
+            var results = employeeService.createEmployees(employeeInputs);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid bulk employee input");
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error creating {} employees", employeeInputs.size(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Deletes an employee from the system by their unique identifier.
      *
@@ -0,0 +1,54 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.service.RosterFreshness;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Tells clients how old the roster behind a response is.
+ * <p>
+ * Every response answered from the roster snapshot carries an {@code Age} header. Once the snapshot is past its TTL,
+ * i.e. it is being served while revalidated or while the upstream is throttling us, a {@code Warning: 110} header
+ * is added as well.
+ */
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+@RequiredArgsConstructor
+public class RosterFreshnessAdvice implements ResponseBodyAdvice<Object> {
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final RosterProperties rosterProperties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        var fetchedAt = RosterFreshness.servedSnapshotFetchedAt();
+        if (fetchedAt != null) {
+            var age = Duration.between(fetchedAt, Instant.now());
+            response.getHeaders().set(HttpHeaders.AGE, Long.toString(Math.max(0, age.toSeconds())));
+            if (age.compareTo(rosterProperties.getTtl()) > 0) {
+                response.getHeaders().set(HttpHeaders.WARNING, STALE_WARNING);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk create: the created employee, or why the item was not created.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkCreateResult {
+    /**
+     * Position of the item in the request.
+     */
+    @JsonProperty("index")
+    private int index;
+
+    @JsonProperty("employee")
+    private Employee employee;
+
+    @JsonProperty("error")
+    private String error;
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The roster changes the upstream made after a given version, oldest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeed {
+    /**
+     * The version reached by applying {@link #changes}, to ask for the next changes with.
+     */
+    @JsonProperty("version")
+    private String version;
+
+    @JsonProperty("changes")
+    private List<EmployeeChange> changes;
+}
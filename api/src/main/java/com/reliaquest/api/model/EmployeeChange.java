@@ -0,0 +1,31 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One create or delete reported by the upstream's change feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+    @JsonProperty("version")
+    private long version;
+
+    @JsonProperty("type")
+    private Type type;
+
+    /**
+     * The created employee, or the deleted one as it was.
+     */
+    @JsonProperty("employee")
+    private Employee employee;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.BulkCreateResult;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps the per-chunk results of a chunked bulk create back onto the positions of the whole import.
+ */
+final class BulkChunks {
+
+    private BulkChunks() {}
+
+    /**
+     * @param start   position of the chunk's first item in the import
+     * @param size    number of items in the chunk
+     * @param results the upstream's results for the chunk, indexed from 0
+     * @return the results indexed by import position
+     * @throws IllegalStateException if the upstream did not answer for every item of the chunk
+     */
+    static List<BulkCreateResult> rebase(int start, int size, List<BulkCreateResult> results) {
+        if (results == null || results.size() != size) {
+            throw new IllegalStateException("Upstream answered for %d of %d employees"
+                    .formatted(results == null ? 0 : results.size(), size));
+        }
+        var rebased = new ArrayList<BulkCreateResult>(size);
+        for (var result : results) {
+            rebased.add(new BulkCreateResult(start + result.getIndex(), result.getEmployee(), result.getError()));
+        }
+        return rebased;
+    }
+
+    /**
+     * @return a failed result for every item of a chunk the upstream did not process
+     */
+    static List<BulkCreateResult> failed(int start, int size, Throwable cause) {
+        var failed = new ArrayList<BulkCreateResult>(size);
+        for (int i = 0; i < size; i++) {
+            failed.add(new BulkCreateResult(start + i, null, "Failed to create employee: " + cause.getMessage()));
+        }
+        return failed;
+    }
+
+    static long createdCount(List<BulkCreateResult> results) {
+        return results.stream().filter(result -> result.getEmployee() != null).count();
+    }
+}
@@ -1,8 +1,10 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.model.BulkCreateResult;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing employee operations.
@@ -17,6 +19,14 @@ public interface EmployeeService {
      */
     List<Employee> getAllEmployees();
 
+    /**
+     * Hands every employee to the given action as soon as it is available, without collecting them into a list first.
+     *
+     * @param action receives every employee in roster order
+     * @throws RuntimeException if unable to retrieve employees
+     */
+    void streamAllEmployees(Consumer<Employee> action);
+
     /**
      * Searches for employees whose names contain the specified search string using case-insensitive matching.
      *
@@ -61,6 +71,16 @@ public interface EmployeeService {
      */
     Employee createEmployee(EmployeeInput employeeInput);
 
+    /**
+     * Creates many employees, sending them to the upstream in chunks. Every input gets its own result: an invalid
+     * input, or one of a chunk the upstream failed, is reported without stopping the rest of the import.
+     *
+     * @param employeeInputs the employees to create
+     * @return one result per input, in input order
+     * @throws IllegalArgumentException if the list is null or empty
+     */
+    List<BulkCreateResult> createEmployees(List<EmployeeInput> employeeInputs);
+
     /**
      * Deletes an employee by their unique identifier.
      *
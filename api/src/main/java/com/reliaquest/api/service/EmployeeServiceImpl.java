@@ -1,44 +1,167 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.config.UpstreamProperties;
 import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.BulkCreateResult;
+import com.reliaquest.api.model.ChangeFeed;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
-import java.util.Comparator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Service
-public class EmployeeServiceImpl implements EmployeeService {
-    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+@ConditionalOnProperty(prefix = "employee.upstream", name = "mode", havingValue = "blocking", matchIfMissing = true)
+public class EmployeeServiceImpl implements EmployeeService, MeterBinder {
+    private static final int TOP_EARNERS = 10;
+
+    private final String baseUrl;
+    private final int bulkChunkSize;
     private final RestTemplate restTemplate;
+    private final SingleFlight singleFlight;
+    private final RosterProperties rosterProperties;
+    private final RosterCache rosterCache;
+    private final EmployeeStreamReader streamReader;
+    private final JsonFactory jsonFactory;
+    private volatile ValidatedRoster lastRoster;
 
-    @Autowired
     public EmployeeServiceImpl(RestTemplate restTemplate) {
+        this(restTemplate, new UpstreamProperties(), new RosterProperties(), new SingleFlight());
+    }
+
+    public EmployeeServiceImpl(
+            RestTemplate restTemplate,
+            UpstreamProperties upstreamProperties,
+            RosterProperties rosterProperties,
+            SingleFlight singleFlight) {
+        this(
+                restTemplate,
+                upstreamProperties,
+                rosterProperties,
+                singleFlight,
+                Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Autowired
+    public EmployeeServiceImpl(
+            RestTemplate restTemplate,
+            UpstreamProperties upstreamProperties,
+            RosterProperties rosterProperties,
+            SingleFlight singleFlight,
+            ObjectMapper objectMapper) {
+        this.baseUrl = upstreamProperties.getBaseUrl();
+        this.bulkChunkSize = Math.max(1, upstreamProperties.getBulkChunkSize());
         this.restTemplate = restTemplate;
+        this.singleFlight = singleFlight;
+        this.rosterProperties = rosterProperties;
+        this.rosterCache =
+                new RosterCache(() -> singleFlight.execute(baseUrl, this::fetchAllEmployees), rosterProperties);
+        this.streamReader = new EmployeeStreamReader(objectMapper);
+        this.jsonFactory = objectMapper.getFactory();
     }
 
     @Override
     public List<Employee> getAllEmployees() {
         log.info("Fetching all employees");
+        return roster(RosterEndpoint.ALL_EMPLOYEES).employees();
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<Employee> action) {
+        log.info("Streaming all employees");
+
+        var snapshot = rosterCache.getIfUsable(rosterProperties.maxStalenessFor(RosterEndpoint.ALL_EMPLOYEES));
+        if (snapshot != null) {
+            snapshot.employees().forEach(action);
+            return;
+        }
+
+        // No usable snapshot: relay the upstream body as it is decoded rather than waiting for the whole roster
+        try {
+            restTemplate.execute(
+                    baseUrl,
+                    HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    response -> {
+                        streamReader.forEach(response.getBody(), action);
+                        return null;
+                    });
+        } catch (RestClientException e) {
+            log.error("Error streaming employees", e);
+            throw new RuntimeException("Failed to fetch employees: " + e.getMessage(), e);
+        }
+    }
+
+    private RosterSnapshot roster(RosterEndpoint endpoint) {
+        var snapshot = rosterCache.get(rosterProperties.maxStalenessFor(endpoint));
+        RosterFreshness.record(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Fetches the roster. Once the upstream has tagged one, the changes since are asked for first and applied to the
+     * previously decoded list; without a change feed the roster is fetched conditionally. Either way an unchanged
+     * roster answers with the previously decoded list, which the {@link RosterCache} recognises and renews without
+     * rebuilding its indexes.
+     */
+    private List<Employee> fetchAllEmployees() {
+        log.info("Fetching employee roster from upstream");
+
+        var validated = lastRoster;
+        HttpEntity<Void> request = null;
+        if (validated != null) {
+            var headers = new HttpHeaders();
+            headers.setIfNoneMatch(validated.etag());
+            request = new HttpEntity<>(headers);
+        }
 
         try {
+            if (validated != null && rosterProperties.isChangeFeed()) {
+                var updated = fetchChanges(validated);
+                if (updated != null) {
+                    return updated;
+                }
+            }
+
             var response = restTemplate.exchange(
-                    BASE_URL,
+                    baseUrl,
                     HttpMethod.GET,
-                    null,
+                    request,
                     new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}
             );
 
+            if (validated != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                log.info("Employee roster unchanged since last fetch");
+                return validated.employees();
+            }
+
             if (response.getBody() != null && response.getBody().getData() != null) {
-                List<Employee> employees = response.getBody().getData();
+                List<Employee> employees = List.copyOf(response.getBody().getData());
+                var etag = response.getHeaders().getETag();
+                lastRoster = etag != null ? new ValidatedRoster(etag, employees) : null;
                 log.info("Successfully fetched {} employees", employees.size());
                 return employees;
             } else {
@@ -51,6 +174,45 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    /**
+     * Brings a previously fetched roster up to date from the upstream's change feed.
+     *
+     * @return the updated roster, the very same list if nothing changed, or {@code null} if the upstream no longer
+     *     has all changes since that roster, or has no change feed at all
+     */
+    private List<Employee> fetchChanges(ValidatedRoster validated) {
+        ResponseEntity<ApiResponse<ChangeFeed>> response;
+        try {
+            response = restTemplate.exchange(
+                    baseUrl + "/changes?since=" + validated.version(),
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<ApiResponse<ChangeFeed>>() {}
+            );
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().value() != HttpStatus.GONE.value()
+                    && e.getStatusCode().value() != HttpStatus.NOT_FOUND.value()) {
+                throw e;
+            }
+            log.info("Employee changes unavailable ({}), refetching the roster", e.getStatusCode().value());
+            return null;
+        }
+
+        var feed = response.getBody() != null ? response.getBody().getData() : null;
+        if (feed == null || feed.getVersion() == null) {
+            return null;
+        }
+        var updated = validated.apply(feed);
+        if (updated == validated) {
+            log.info("Employee roster unchanged since last fetch");
+            return validated.employees();
+        }
+
+        lastRoster = updated;
+        log.info("Applied {} employee changes to the roster", feed.getChanges().size());
+        return updated.employees();
+    }
+
     @Override
     public List<Employee> getEmployeesByNameSearch(String searchString) {
         log.info("Searching for all employees by name {}", searchString);
@@ -60,14 +222,10 @@ public class EmployeeServiceImpl implements EmployeeService {
             return List.of();
         }
 
-        List<Employee> allEmployees = getAllEmployees();
-        var lowerCaseSearchString = searchString.toLowerCase();
+        var employees = roster(RosterEndpoint.NAME_SEARCH).nameIndex().search(searchString);
 
-        log.info("Found {} employees by name {}", allEmployees.size(), lowerCaseSearchString);
-        return allEmployees.stream()
-                .filter(employee -> employee.getName() != null
-                        && employee.getName().toLowerCase().contains(lowerCaseSearchString))
-                .toList();
+        log.info("Found {} employees by name {}", employees.size(), searchString);
+        return employees;
     }
 
     @Override
@@ -78,9 +236,28 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new IllegalArgumentException("Employee ID is null or empty");
         }
 
+        var snapshot = rosterCache.peek(rosterProperties.maxStalenessFor(RosterEndpoint.EMPLOYEE_BY_ID));
+        if (snapshot != null) {
+            var employee = snapshot.findById(id);
+            if (employee != null) {
+                RosterFreshness.record(snapshot);
+                log.info("Found employee {} with id {} in roster snapshot", employee.getName(), id);
+                return employee;
+            }
+        }
+
+        var url = baseUrl + "/" + id;
+        var employee = singleFlight.execute(url, () -> fetchEmployeeById(url, id));
+        if (snapshot != null) {
+            snapshot.remember(employee);
+        }
+        return employee;
+    }
+
+    private Employee fetchEmployeeById(String url, String id) {
         try {
             var response = restTemplate.exchange(
-                    BASE_URL + "/" + id,
+                    url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<ApiResponse<Employee>>() {}
@@ -94,6 +271,9 @@ public class EmployeeServiceImpl implements EmployeeService {
                 log.info("Employee with ID {} not found", id);
                 throw new RuntimeException("Employee not found with ID: " + id);
             }
+        } catch (HttpClientErrorException.NotFound e) {
+            log.info("Employee with ID {} not found", id);
+            throw new RuntimeException("Employee not found with ID: " + id, e);
         } catch (RestClientException e) {
             log.error("Error fetching employee by id {}", id, e);
             throw new RuntimeException("Failed to fetch employee by ID: " + id, e);
@@ -104,18 +284,9 @@ public class EmployeeServiceImpl implements EmployeeService {
     public Integer getHighestSalaryOfEmployees() {
         log.info("Fetching highest salary of all employees");
 
-        var allEmployees = getAllEmployees();
-
-        if (allEmployees == null || allEmployees.isEmpty()) {
-            log.warn("No employees found");
-            return 0;
-        }
-
-        var highestSalary = allEmployees.stream()
-                .filter(employee -> employee.getSalary() != null)
-                .mapToInt(Employee::getSalary)
-                .max()
-                .orElse(0);
+        var snapshot = salaryRoster(RosterEndpoint.HIGHEST_SALARY);
+        var highestSalary =
+                snapshot != null ? snapshot.salaryIndex().highest() : aggregateSalaries().highest();
 
         log.info("Highest salary is {}", highestSalary);
         return highestSalary;
@@ -125,18 +296,68 @@ public class EmployeeServiceImpl implements EmployeeService {
     public List<String> getTopTenHighestEarningEmployeeNames() {
         log.info("Fetching top 10 employee names");
 
-        var allEmployees = getAllEmployees();
-        var top10HighestEarningEmployeeNames = allEmployees.stream()
-                .filter(employee -> employee.getSalary() != null && employee.getName() != null)
-                .sorted(Comparator.comparing(Employee::getSalary, Comparator.reverseOrder()))
-                .limit(10)
-                .map(Employee::getName)
-                .toList();
+        var snapshot = salaryRoster(RosterEndpoint.TOP_TEN_EARNERS);
+        var top10HighestEarningEmployeeNames =
+                snapshot != null ? snapshot.salaryIndex().topNames(TOP_EARNERS) : aggregateSalaries().topNames();
 
-        log.info("Top 10 highest earning employees found: {}", top10HighestEarningEmployeeNames);
+        log.info("Found {} top earning employees", top10HighestEarningEmployeeNames.size());
+        log.debug("Top 10 highest earning employees found: {}", top10HighestEarningEmployeeNames);
         return top10HighestEarningEmployeeNames;
     }
 
+    /**
+     * The roster to answer a salary question from. With streaming aggregation only a snapshot the cache can serve as
+     * is counts, so the upstream is streamed on a miss instead of being fetched and indexed whole.
+     *
+     * @return the roster snapshot, or {@code null} if the salaries are to be streamed
+     */
+    private RosterSnapshot salaryRoster(RosterEndpoint endpoint) {
+        if (rosterProperties.getAggregation() != RosterProperties.Aggregation.STREAMING) {
+            return roster(endpoint);
+        }
+        var snapshot = rosterCache.getIfUsable(rosterProperties.maxStalenessFor(endpoint));
+        if (snapshot != null) {
+            RosterFreshness.record(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Streams the upstream roster through a {@link SalaryAggregator}, so only the answer is ever held in memory.
+     * Concurrent callers share one pass.
+     */
+    private SalaryAggregator aggregateSalaries() {
+        return singleFlight.execute(baseUrl + "#salaries", () -> {
+            log.info("Streaming employee roster from upstream for salary aggregation");
+            try {
+                return restTemplate.execute(
+                        baseUrl,
+                        HttpMethod.GET,
+                        request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                        response -> SalaryAggregator.read(jsonFactory, response.getBody(), TOP_EARNERS));
+            } catch (RestClientException e) {
+                log.error("Error streaming employees", e);
+                throw new RuntimeException("Failed to fetch employees: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Publishes the roster cache's hit, miss and staleness metrics.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rosterCache.bindTo(registry);
+    }
+
+    /**
+     * Stops the roster cache's background refreshes on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        rosterCache.close();
+    }
+
     @Override
     public Employee createEmployee(EmployeeInput employeeInput) {
         log.info("Creating employee {}", employeeInput);
@@ -148,7 +369,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         try {
             var requestEntity = new HttpEntity<>(employeeInput);
             var response = restTemplate.exchange(
-                    BASE_URL,
+                    baseUrl,
                     HttpMethod.POST,
                     requestEntity,
                     new ParameterizedTypeReference<ApiResponse<Employee>>() {}
@@ -157,6 +378,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             if (response.getBody() != null && response.getBody().getData() != null) {
                 var createdEmployee = response.getBody().getData();
                 log.info("Successfully created employee {}", createdEmployee);
+                rosterCache.invalidate();
                 return createdEmployee;
             } else {
                 log.error("Failed to create employee {}", employeeInput);
@@ -168,6 +390,39 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    @Override
+    public List<BulkCreateResult> createEmployees(List<EmployeeInput> employeeInputs) {
+        if (employeeInputs == null || employeeInputs.isEmpty()) {
+            throw new IllegalArgumentException("Employee inputs cannot be null or empty");
+        }
+        log.info("Creating {} employees in chunks of up to {}", employeeInputs.size(), bulkChunkSize);
+
+        var results = new ArrayList<BulkCreateResult>(employeeInputs.size());
+        for (int start = 0; start < employeeInputs.size(); start += bulkChunkSize) {
+            var chunk = employeeInputs.subList(start, Math.min(employeeInputs.size(), start + bulkChunkSize));
+            try {
+                var response = restTemplate.exchange(
+                        baseUrl + "/bulk",
+                        HttpMethod.POST,
+                        new HttpEntity<>(chunk),
+                        new ParameterizedTypeReference<ApiResponse<List<BulkCreateResult>>>() {}
+                );
+                var data = response.getBody() != null ? response.getBody().getData() : null;
+                results.addAll(BulkChunks.rebase(start, chunk.size(), data));
+            } catch (RestClientException | IllegalStateException e) {
+                log.error("Error creating employees {} to {}", start, start + chunk.size() - 1, e);
+                results.addAll(BulkChunks.failed(start, chunk.size(), e));
+            }
+        }
+
+        var created = BulkChunks.createdCount(results);
+        if (created > 0) {
+            rosterCache.invalidate();
+        }
+        log.info("Created {} of {} employees", created, employeeInputs.size());
+        return results;
+    }
+
     @Override
     public String deleteEmployeeById(String id) {
         log.info("Deleting employee with id: {}", id);
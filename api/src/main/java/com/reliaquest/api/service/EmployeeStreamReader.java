@@ -0,0 +1,55 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Decodes the employees of an {@code {"data": [employee, ...]}} upstream response one at a time, handing each to a
+ * consumer as soon as it is read. Only the employee being decoded is ever held in memory.
+ * <p>
+ * Employees are bound by the given {@link ObjectMapper}, so the streamed roster is decoded with the same modules and
+ * settings as every other upstream response. Unknown fields are ignored regardless.
+ */
+public class EmployeeStreamReader {
+    private final ObjectReader employeeReader;
+
+    public EmployeeStreamReader(ObjectMapper objectMapper) {
+        this.employeeReader =
+                objectMapper.readerFor(Employee.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * @param body   the response body, closed once read
+     * @param action receives every employee in roster order
+     * @throws IOException if the body cannot be read or is not valid JSON
+     */
+    public void forEach(InputStream body, Consumer<Employee> action) throws IOException {
+        try (var parser = employeeReader.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                var value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken token;
+                    while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                        if (token == JsonToken.START_OBJECT) {
+                            action.accept(employeeReader.readValue(parser));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.BulkCreateResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}. Each method describes the same operation and fails with the
+ * same exceptions, signalled through the returned {@link Mono} instead of thrown.
+ */
+public interface ReactiveEmployeeService {
+    /**
+     * @see EmployeeService#getAllEmployees()
+     */
+    Mono<List<Employee>> allEmployees();
+
+    /**
+     * @see EmployeeService#getEmployeesByNameSearch(String)
+     */
+    Mono<List<Employee>> employeesByNameSearch(String searchString);
+
+    /**
+     * @see EmployeeService#getEmployeeById(String)
+     */
+    Mono<Employee> employeeById(String id);
+
+    /**
+     * @see EmployeeService#getHighestSalaryOfEmployees()
+     */
+    Mono<Integer> highestSalaryOfEmployees();
+
+    /**
+     * @see EmployeeService#getTopTenHighestEarningEmployeeNames()
+     */
+    Mono<List<String>> topTenHighestEarningEmployeeNames();
+
+    /**
+     * @see EmployeeService#createEmployee(EmployeeInput)
+     */
+    Mono<Employee> create(EmployeeInput employeeInput);
+
+    /**
+     * @see EmployeeService#createEmployees(List)
+     */
+    Mono<List<BulkCreateResult>> createAll(List<EmployeeInput> employeeInputs);
+
+    /**
+     * @see EmployeeService#deleteEmployeeById(String)
+     */
+    Mono<String> deleteById(String id);
+}
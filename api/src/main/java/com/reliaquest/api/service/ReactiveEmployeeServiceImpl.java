@@ -0,0 +1,409 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.config.UpstreamProperties;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.BulkCreateResult;
+import com.reliaquest.api.model.ChangeFeed;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link EmployeeService} that calls the upstream through {@link WebClient}.
+ * <p>
+ * Only the outbound client is non-blocking. Through {@link ReactiveEmployeeService}, many upstream calls can be in
+ * flight on a handful of event loop threads, and concurrent identical calls share one in-flight {@link Mono}. The
+ * api's controller is a Spring MVC one, though: it goes through the blocking {@link EmployeeService} methods, which
+ * wait for the reactive ones on the servlet thread, so every request still holds one servlet thread for the whole
+ * upstream call. Reads are answered from the same {@link RosterCache} as {@link EmployeeServiceImpl}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "employee.upstream", name = "mode", havingValue = "reactive")
+public class ReactiveEmployeeServiceImpl implements EmployeeService, ReactiveEmployeeService, MeterBinder {
+    private static final ParameterizedTypeReference<ApiResponse<List<Employee>>> EMPLOYEE_LIST =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Employee>> EMPLOYEE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<List<BulkCreateResult>>> BULK_RESULTS =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<ChangeFeed>> CHANGE_FEED =
+            new ParameterizedTypeReference<>() {};
+
+    private final String baseUrl;
+    private final int bulkChunkSize;
+    private final WebClient webClient;
+    private final RosterProperties rosterProperties;
+    private final RosterCache rosterCache;
+    private final ConcurrentHashMap<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private volatile ValidatedRoster lastRoster;
+
+    @Autowired
+    public ReactiveEmployeeServiceImpl(
+            WebClient upstreamWebClient, UpstreamProperties upstreamProperties, RosterProperties rosterProperties) {
+        this.baseUrl = upstreamProperties.getBaseUrl();
+        this.bulkChunkSize = Math.max(1, upstreamProperties.getBulkChunkSize());
+        this.webClient = upstreamWebClient;
+        this.rosterProperties = rosterProperties;
+        // Background refreshes run on the cache's own executor, where waiting on the result is fine. They join the
+        // readers' flight, and hand back the list it installed so the cache keeps that snapshot as is
+        this.rosterCache = new RosterCache(() -> fetchRoster().block().employees(), rosterProperties);
+    }
+
+    @Override
+    public Mono<List<Employee>> allEmployees() {
+        return roster(RosterEndpoint.ALL_EMPLOYEES).map(RosterSnapshot::employees);
+    }
+
+    @Override
+    public Mono<List<Employee>> employeesByNameSearch(String searchString) {
+        if (searchString == null || searchString.isEmpty()) {
+            log.info("No search string provided");
+            return Mono.just(List.of());
+        }
+        return roster(RosterEndpoint.NAME_SEARCH)
+                .map(snapshot -> snapshot.nameIndex().search(searchString));
+    }
+
+    @Override
+    public Mono<Employee> employeeById(String id) {
+        if (id == null || id.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Employee ID is null or empty"));
+        }
+
+        var snapshot = rosterCache.peek(rosterProperties.maxStalenessFor(RosterEndpoint.EMPLOYEE_BY_ID));
+        if (snapshot != null) {
+            var employee = snapshot.findById(id);
+            if (employee != null) {
+                return Mono.just(employee);
+            }
+        }
+
+        var url = baseUrl + "/" + id;
+        return shared(url, () -> webClient
+                        .get()
+                        .uri(url)
+                        .retrieve()
+                        .bodyToMono(EMPLOYEE)
+                        .mapNotNull(ApiResponse::getData)
+                        .switchIfEmpty(Mono.error(() -> new RuntimeException("Employee not found with ID: " + id)))
+                        .onErrorMap(
+                                WebClientResponseException.NotFound.class,
+                                e -> new RuntimeException("Employee not found with ID: " + id, e))
+                        .onErrorMap(
+                                ReactiveEmployeeServiceImpl::isUpstreamFailure,
+                                e -> new RuntimeException("Failed to fetch employee by ID: " + id, e)))
+                .doOnNext(employee -> {
+                    if (snapshot != null) {
+                        snapshot.remember(employee);
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Integer> highestSalaryOfEmployees() {
+        return roster(RosterEndpoint.HIGHEST_SALARY)
+                .map(snapshot -> snapshot.salaryIndex().highest());
+    }
+
+    @Override
+    public Mono<List<String>> topTenHighestEarningEmployeeNames() {
+        return roster(RosterEndpoint.TOP_TEN_EARNERS)
+                .map(snapshot -> snapshot.salaryIndex().topNames(10));
+    }
+
+    @Override
+    public Mono<Employee> create(EmployeeInput employeeInput) {
+        if (employeeInput == null) {
+            return Mono.error(new IllegalArgumentException("Employee input cannot be null"));
+        }
+
+        return webClient
+                .post()
+                .uri(baseUrl)
+                .bodyValue(employeeInput)
+                .retrieve()
+                .bodyToMono(EMPLOYEE)
+                .mapNotNull(ApiResponse::getData)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Failed to create employee " + employeeInput)))
+                .onErrorMap(
+                        ReactiveEmployeeServiceImpl::isUpstreamFailure,
+                        e -> new RuntimeException("Failed to create employee " + employeeInput, e))
+                .doOnNext(createdEmployee -> {
+                    log.info("Successfully created employee {}", createdEmployee);
+                    rosterCache.invalidate();
+                });
+    }
+
+    @Override
+    public Mono<List<BulkCreateResult>> createAll(List<EmployeeInput> employeeInputs) {
+        if (employeeInputs == null || employeeInputs.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Employee inputs cannot be null or empty"));
+        }
+
+        // Chunks go out one after the other, so a large import never holds more than one chunk's worth of requests
+        var chunkCount = (employeeInputs.size() + bulkChunkSize - 1) / bulkChunkSize;
+        return Flux.range(0, chunkCount)
+                .concatMap(chunkIndex -> {
+                    var start = chunkIndex * bulkChunkSize;
+                    var chunk = employeeInputs.subList(start, Math.min(employeeInputs.size(), start + bulkChunkSize));
+                    return webClient
+                            .post()
+                            .uri(baseUrl + "/bulk")
+                            .bodyValue(chunk)
+                            .retrieve()
+                            .bodyToMono(BULK_RESULTS)
+                            .defaultIfEmpty(new ApiResponse<>())
+                            .map(response -> BulkChunks.rebase(start, chunk.size(), response.getData()))
+                            .onErrorResume(
+                                    e -> isUpstreamFailure(e) || e instanceof IllegalStateException,
+                                    e -> {
+                                        var end = start + chunk.size() - 1;
+                                        log.error("Error creating employees {} to {}", start, end, e);
+                                        return Mono.just(BulkChunks.failed(start, chunk.size(), e));
+                                    });
+                })
+                .flatMapIterable(results -> results)
+                .collectList()
+                .doOnNext(results -> {
+                    var created = BulkChunks.createdCount(results);
+                    if (created > 0) {
+                        rosterCache.invalidate();
+                    }
+                    log.info("Created {} of {} employees", created, employeeInputs.size());
+                });
+    }
+
+    @Override
+    public Mono<String> deleteById(String id) {
+        if (id == null || id.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Employee ID cannot be null or empty"));
+        }
+
+        // The mock API doesn't support DELETE by id, so just verify the employee exists
+        return employeeById(id)
+                .onErrorMap(
+                        e -> !(e instanceof IllegalArgumentException),
+                        e -> new RuntimeException("Employee with id " + id + " not found", e))
+                .map(Employee::getName);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return answer(RosterEndpoint.ALL_EMPLOYEES).employees();
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<Employee> action) {
+        // The upstream wraps its roster in an envelope the reactive decoder can only read whole, so relay the snapshot
+        roster(RosterEndpoint.ALL_EMPLOYEES).block().employees().forEach(action);
+    }
+
+    @Override
+    public List<Employee> getEmployeesByNameSearch(String searchString) {
+        if (searchString == null || searchString.isEmpty()) {
+            return List.of();
+        }
+        return answer(RosterEndpoint.NAME_SEARCH).nameIndex().search(searchString);
+    }
+
+    @Override
+    public Employee getEmployeeById(String id) {
+        return employeeById(id).block();
+    }
+
+    @Override
+    public Integer getHighestSalaryOfEmployees() {
+        return answer(RosterEndpoint.HIGHEST_SALARY).salaryIndex().highest();
+    }
+
+    @Override
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return answer(RosterEndpoint.TOP_TEN_EARNERS).salaryIndex().topNames(10);
+    }
+
+    @Override
+    public Employee createEmployee(EmployeeInput employeeInput) {
+        return create(employeeInput).block();
+    }
+
+    @Override
+    public List<BulkCreateResult> createEmployees(List<EmployeeInput> employeeInputs) {
+        return createAll(employeeInputs).block();
+    }
+
+    @Override
+    public String deleteEmployeeById(String id) {
+        return deleteById(id).block();
+    }
+
+    /**
+     * Publishes the roster cache's hit, miss and staleness metrics.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rosterCache.bindTo(registry);
+    }
+
+    /**
+     * Stops the roster cache's background refreshes on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        rosterCache.close();
+    }
+
+    /**
+     * Blocking edge of {@link #roster(RosterEndpoint)}: runs on the request thread, so the snapshot's age can be
+     * reported in the response.
+     */
+    private RosterSnapshot answer(RosterEndpoint endpoint) {
+        var snapshot = roster(endpoint).block();
+        RosterFreshness.record(snapshot);
+        return snapshot;
+    }
+
+    private Mono<RosterSnapshot> roster(RosterEndpoint endpoint) {
+        var maxStaleness = rosterProperties.maxStalenessFor(endpoint);
+        var snapshot = rosterCache.getIfUsable(maxStaleness);
+        if (snapshot != null) {
+            return Mono.just(snapshot);
+        }
+
+        return fetchRoster().onErrorResume(e -> {
+            var stale = rosterCache.peek(maxStaleness);
+            if (stale == null) {
+                return Mono.error(e);
+            }
+            log.warn("Roster refresh failed, serving snapshot fetched at {}", stale.fetchedAt(), e);
+            return Mono.just(stale);
+        });
+    }
+
+    /**
+     * Fetches the roster and installs it in the cache, once per flight however many callers share it.
+     */
+    private Mono<RosterSnapshot> fetchRoster() {
+        return shared(baseUrl, () -> fetchAllEmployees().map(rosterCache::install));
+    }
+
+    /**
+     * Fetches the roster the way {@link EmployeeServiceImpl} does: once the upstream has tagged one, the changes since
+     * are asked for first, and otherwise the roster is fetched conditionally. An unchanged roster answers with the
+     * previously decoded list, which the {@link RosterCache} renews without rebuilding its indexes.
+     */
+    private Mono<List<Employee>> fetchAllEmployees() {
+        return Mono.defer(() -> {
+                    log.info("Fetching employee roster from upstream");
+                    var validated = lastRoster;
+                    var changes = validated != null && rosterProperties.isChangeFeed()
+                            ? fetchChanges(validated)
+                            : Mono.<List<Employee>>empty();
+                    return changes.switchIfEmpty(Mono.defer(() -> fetchWholeRoster(validated)));
+                })
+                .onErrorMap(
+                        ReactiveEmployeeServiceImpl::isUpstreamFailure,
+                        e -> new RuntimeException("Failed to fetch employees: " + e.getMessage(), e));
+    }
+
+    private Mono<List<Employee>> fetchWholeRoster(ValidatedRoster validated) {
+        return webClient
+                .get()
+                .uri(baseUrl)
+                .headers(headers -> {
+                    if (validated != null) {
+                        headers.setIfNoneMatch(validated.etag());
+                    }
+                })
+                .retrieve()
+                .toEntity(EMPLOYEE_LIST)
+                .map(response -> {
+                    if (validated != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        log.info("Employee roster unchanged since last fetch");
+                        return validated.employees();
+                    }
+                    if (response.getBody() == null || response.getBody().getData() == null) {
+                        log.warn("Received empty response body");
+                        return List.of();
+                    }
+
+                    List<Employee> employees = List.copyOf(response.getBody().getData());
+                    var etag = response.getHeaders().getETag();
+                    lastRoster = etag != null ? new ValidatedRoster(etag, employees) : null;
+                    log.info("Successfully fetched {} employees", employees.size());
+                    return employees;
+                });
+    }
+
+    /**
+     * Brings a previously fetched roster up to date from the upstream's change feed.
+     *
+     * @return the updated roster, the very same list if nothing changed, or empty if the upstream no longer has all
+     *     changes since that roster, or has no change feed at all
+     */
+    private Mono<List<Employee>> fetchChanges(ValidatedRoster validated) {
+        return webClient
+                .get()
+                .uri(baseUrl + "/changes?since={version}", validated.version())
+                .retrieve()
+                .bodyToMono(CHANGE_FEED)
+                .mapNotNull(ApiResponse::getData)
+                .filter(feed -> feed.getVersion() != null)
+                .map(feed -> {
+                    var updated = validated.apply(feed);
+                    if (updated == validated) {
+                        log.info("Employee roster unchanged since last fetch");
+                        return validated.employees();
+                    }
+                    lastRoster = updated;
+                    log.info("Applied {} employee changes to the roster", feed.getChanges().size());
+                    return updated.employees();
+                })
+                .onErrorResume(
+                        e -> e instanceof WebClientResponseException.Gone
+                                || e instanceof WebClientResponseException.NotFound,
+                        e -> {
+                            var status = ((WebClientResponseException) e).getStatusCode().value();
+                            log.info("Employee changes unavailable ({}), refetching the roster", status);
+                            return Mono.empty();
+                        });
+    }
+
+    /**
+     * Reactive single-flight: callers arriving while a call for the same key is in flight subscribe to that call's
+     * cached result instead of starting their own. A finished flight removes only itself, never a newer flight that
+     * has already taken its key.
+     */
+    @SuppressWarnings("unchecked")
+    private <V> Mono<V> shared(String key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> (Mono<V>) inFlight.computeIfAbsent(key, ignored -> {
+            var flight = new AtomicReference<Mono<V>>();
+            flight.set(call.get().doFinally(signal -> inFlight.remove(key, flight.get())).cache());
+            return flight.get();
+        }));
+    }
+
+    private static boolean isUpstreamFailure(Throwable e) {
+        return e instanceof WebClientException || e instanceof UpstreamThrottledException;
+    }
+}
@@ -0,0 +1,343 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the last fetched employee roster and keeps it fresh.
+ * <p>
+ * Reads inside {@code ttl - refreshAhead} are served straight from memory. Reads inside the refresh-ahead window
+ * are still served from memory, but kick off a single background refresh. Once the snapshot has expired it is still
+ * served while younger than the caller's maximum staleness, and revalidated in the background; a failed revalidation
+ * is retried with exponential backoff, or after the upstream's Retry-After when it is throttling us. Only a reader
+ * with no usable snapshot waits on the upstream.
+ * <p>
+ * A loader may return the exact list instance of the held snapshot to report the roster unchanged, for example
+ * after a 304 Not Modified; the snapshot is then renewed without rebuilding its indexes.
+ * <p>
+ * Reads are counted as fresh hits, stale hits or misses, and exposed together with the snapshot's age and size
+ * once bound to a {@link MeterRegistry}.
+ * <p>
+ * Background refreshes block on the loader, so unless given an executor the cache runs them on a thread of its own
+ * rather than on a shared pool, and stops it on {@link #close()}.
+ */
+@Slf4j
+public class RosterCache implements MeterBinder, AutoCloseable {
+    private final Supplier<List<Employee>> loader;
+    private final RosterProperties properties;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+    private final boolean ownsRefreshExecutor;
+
+    private final AtomicReference<RosterSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Object loadLock = new Object();
+    private volatile boolean invalidated;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+
+    public RosterCache(Supplier<List<Employee>> loader, RosterProperties properties) {
+        this(loader, properties, Clock.systemUTC(), newRefreshExecutor(), true);
+    }
+
+    public RosterCache(
+            Supplier<List<Employee>> loader, RosterProperties properties, Clock clock, Executor refreshExecutor) {
+        this(loader, properties, clock, refreshExecutor, false);
+    }
+
+    private RosterCache(
+            Supplier<List<Employee>> loader,
+            RosterProperties properties,
+            Clock clock,
+            Executor refreshExecutor,
+            boolean ownsRefreshExecutor) {
+        this.loader = loader;
+        this.properties = properties;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.ownsRefreshExecutor = ownsRefreshExecutor;
+    }
+
+    /**
+     * A single daemon thread, started on demand and let go when idle. Refreshes never overlap, so one thread and a
+     * short queue always suffice.
+     */
+    private static ExecutorService newRefreshExecutor() {
+        return new ThreadPoolExecutor(0, 1, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(2), runnable -> {
+            var thread = new Thread(runnable, "roster-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the current roster, tolerating the default maximum staleness.
+     *
+     * @return the current roster snapshot
+     * @throws RuntimeException if the roster could not be fetched and no snapshot within max staleness exists
+     */
+    public RosterSnapshot get() {
+        return get(properties.getMaxStaleness());
+    }
+
+    /**
+     * Returns the current roster, fetching it from the upstream only if no usable snapshot is held.
+     *
+     * @param maxStaleness how old an expired snapshot may be and still be served
+     * @return the current roster snapshot
+     * @throws RuntimeException if the roster could not be fetched and no snapshot within max staleness exists
+     */
+    public RosterSnapshot get(Duration maxStaleness) {
+        var snapshot = getIfUsable(maxStaleness);
+        return snapshot != null ? snapshot : loadBlocking(current.get(), maxStaleness);
+    }
+
+    /**
+     * Returns the current roster if it can be served without waiting on the upstream, scheduling a background
+     * refresh as {@link #get(Duration)} would.
+     *
+     * @param maxStaleness how old an expired snapshot may be and still be served
+     * @return the current roster snapshot, or {@code null} if the caller has to fetch one
+     */
+    public RosterSnapshot getIfUsable(Duration maxStaleness) {
+        var snapshot = current.get();
+        if (snapshot == null || invalidated) {
+            misses.increment();
+            return null;
+        }
+
+        var age = snapshot.age(clock.instant());
+        if (age.compareTo(properties.getTtl()) >= 0) {
+            if (age.compareTo(maxStaleness) < 0) {
+                staleHits.increment();
+                refreshAsync();
+                return snapshot;
+            }
+            misses.increment();
+            return null;
+        }
+        if (age.compareTo(properties.getTtl().minus(properties.getRefreshAhead())) >= 0) {
+            refreshAsync();
+        }
+        hits.increment();
+        return snapshot;
+    }
+
+    /**
+     * Returns the current roster without ever waiting on the upstream. A snapshot that is expired, invalidated or
+     * close to expiry triggers a background refresh.
+     *
+     * @param maxStaleness how old an expired snapshot may be and still be returned
+     * @return the current roster snapshot, or {@code null} if none is young enough
+     */
+    public RosterSnapshot peek(Duration maxStaleness) {
+        var snapshot = current.get();
+        if (snapshot == null) {
+            misses.increment();
+            return null;
+        }
+
+        var age = snapshot.age(clock.instant());
+        if (invalidated || age.compareTo(properties.getTtl().minus(properties.getRefreshAhead())) >= 0) {
+            refreshAsync();
+        }
+        if (age.compareTo(maxStaleness) >= 0) {
+            misses.increment();
+            return null;
+        }
+        if (invalidated || age.compareTo(properties.getTtl()) >= 0) {
+            staleHits.increment();
+        } else {
+            hits.increment();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces the held snapshot with a roster the caller fetched itself, clearing any invalidation.
+     *
+     * @param employees the freshly fetched roster
+     * @return the new snapshot
+     */
+    public RosterSnapshot install(List<Employee> employees) {
+        invalidated = false;
+        return publish(employees);
+    }
+
+    /**
+     * Marks the held snapshot as out of date so the next read fetches a new one. The old snapshot is kept so it can
+     * still be served if that fetch fails.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    private RosterSnapshot loadBlocking(RosterSnapshot seen, Duration maxStaleness) {
+        synchronized (loadLock) {
+            var latest = current.get();
+            if (latest != null && latest != seen && !invalidated) {
+                // Another reader refreshed while we were waiting for the lock
+                return latest;
+            }
+
+            try {
+                return refresh();
+            } catch (RuntimeException e) {
+                if (latest != null && latest.age(clock.instant()).compareTo(maxStaleness) < 0) {
+                    log.warn("Roster refresh failed, serving snapshot fetched at {}", latest.fetchedAt(), e);
+                    refreshAsync();
+                    return latest;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Stops the refresh thread the cache created for itself. Reads keep working, but no longer refresh in the
+     * background.
+     */
+    @Override
+    public void close() {
+        if (ownsRefreshExecutor) {
+            ((ExecutorService) refreshExecutor).shutdownNow();
+        }
+    }
+
+    private void refreshAsync() {
+        if (refreshing.compareAndSet(false, true)) {
+            try {
+                refreshExecutor.execute(() -> revalidate(0));
+            } catch (RejectedExecutionException e) {
+                log.debug("Roster cache is closed, skipping background refresh");
+                refreshing.set(false);
+            }
+        }
+    }
+
+    private void revalidate(int attempt) {
+        try {
+            refresh();
+            refreshing.set(false);
+        } catch (RuntimeException e) {
+            var snapshot = current.get();
+            if (snapshot == null
+                    || snapshot.age(clock.instant()).compareTo(properties.longestMaxStaleness()) >= 0) {
+                // No endpoint would serve the held snapshot anymore, leave the next fetch to a reader
+                log.warn("Background roster refresh failed", e);
+                refreshing.set(false);
+                return;
+            }
+
+            var delay = backoff(attempt, e);
+            log.warn("Background roster refresh failed, retrying in {}ms", delay.toMillis(), e);
+            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS, refreshExecutor)
+                    .execute(() -> revalidate(attempt + 1));
+        }
+    }
+
+    private Duration backoff(int attempt, Throwable failure) {
+        var delay = properties.getRevalidationBackoff().multipliedBy(1L << Math.min(attempt, 20));
+        if (delay.compareTo(properties.getMaxRevalidationBackoff()) > 0) {
+            delay = properties.getMaxRevalidationBackoff();
+        }
+
+        for (var cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamThrottledException throttled
+                    && throttled.getRetryAfter().compareTo(delay) > 0) {
+                return throttled.getRetryAfter();
+            }
+        }
+        return delay;
+    }
+
+    private RosterSnapshot refresh() {
+        var wasInvalidated = invalidated;
+        invalidated = false;
+        List<Employee> employees;
+        try {
+            employees = loader.get();
+        } catch (RuntimeException e) {
+            invalidated |= wasInvalidated;
+            failedRefreshes.increment();
+            throw e;
+        }
+        refreshes.increment();
+        return publish(employees);
+    }
+
+    private RosterSnapshot publish(List<Employee> employees) {
+        var previous = current.get();
+        // A loader that found the roster unchanged hands back the very list it loaded before, keep its indexes
+        var snapshot = previous != null && previous.employees() == employees
+                ? previous.revalidated(clock.instant())
+                : RosterSnapshot.of(employees, clock.instant());
+        current.set(snapshot);
+        log.debug("Roster refreshed with {} employees", snapshot.employees().size());
+        return snapshot;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        readCounter(registry, "hit", hits);
+        readCounter(registry, "stale", staleHits);
+        readCounter(registry, "miss", misses);
+        refreshCounter(registry, "success", refreshes);
+        refreshCounter(registry, "failure", failedRefreshes);
+        TimeGauge.builder("employee.roster.age", this, TimeUnit.MILLISECONDS, RosterCache::ageMillis)
+                .description("Age of the held roster snapshot")
+                .register(registry);
+        Gauge.builder("employee.roster.size", this, RosterCache::size)
+                .description("Employees in the held roster snapshot")
+                .register(registry);
+    }
+
+    private double ageMillis() {
+        var snapshot = current.get();
+        return snapshot == null ? Double.NaN : snapshot.age(clock.instant()).toMillis();
+    }
+
+    private double size() {
+        var snapshot = current.get();
+        return snapshot == null ? 0 : snapshot.employees().size();
+    }
+
+    private static void readCounter(MeterRegistry registry, String result, LongAdder counter) {
+        FunctionCounter.builder("employee.roster.reads", counter, LongAdder::doubleValue)
+                .description("Roster reads by whether a fresh, stale or no snapshot could answer them")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static void refreshCounter(MeterRegistry registry, String result, LongAdder counter) {
+        FunctionCounter.builder("employee.roster.refreshes", counter, LongAdder::doubleValue)
+                .description("Roster fetches from the upstream")
+                .tag("result", result)
+                .register(registry);
+    }
+}
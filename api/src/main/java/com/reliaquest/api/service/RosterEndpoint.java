@@ -0,0 +1,12 @@
+package com.reliaquest.api.service;
+
+/**
+ * Employee reads that can be answered from the roster snapshot, each with its own staleness tolerance.
+ */
+public enum RosterEndpoint {
+    ALL_EMPLOYEES,
+    NAME_SEARCH,
+    EMPLOYEE_BY_ID,
+    HIGHEST_SALARY,
+    TOP_TEN_EARNERS
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.service;
+
+import java.time.Instant;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Remembers, for the current web request, when the roster snapshot used to answer it was fetched, so the response
+ * can tell the client how stale it is.
+ */
+public final class RosterFreshness {
+    private static final String ATTRIBUTE = RosterFreshness.class.getName() + ".fetchedAt";
+
+    private RosterFreshness() {}
+
+    static void record(RosterSnapshot snapshot) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, snapshot.fetchedAt(), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * @return when the snapshot answering the current request was fetched, or {@code null} if the request was not
+     * answered from a snapshot
+     */
+    public static Instant servedSnapshotFetchedAt() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (Instant) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * View of the employee roster as it was last fetched from the upstream service.
+ * <p>
+ * The roster and its salary and name indexes are immutable. The id index may additionally pick up employees that
+ * were fetched one by one after the snapshot was taken.
+ *
+ * @param employees the employees, in upstream order
+ * @param fetchedAt when the roster was fetched
+ * @param salaryIndex salaries of {@code employees}, sorted highest first
+ * @param nameIndex trigram index over the case-folded names of {@code employees}
+ * @param idIndex employees by id
+ */
+public record RosterSnapshot(
+        List<Employee> employees,
+        Instant fetchedAt,
+        SalaryIndex salaryIndex,
+        TrigramIndex nameIndex,
+        Map<String, Employee> idIndex) {
+
+    public static RosterSnapshot of(List<Employee> employees, Instant fetchedAt) {
+        var copy = List.copyOf(employees);
+        var idIndex = new ConcurrentHashMap<String, Employee>(Math.max(16, copy.size() * 4 / 3 + 1));
+        for (var employee : copy) {
+            if (employee.getId() != null) {
+                idIndex.putIfAbsent(employee.getId(), employee);
+            }
+        }
+        return new RosterSnapshot(copy, fetchedAt, SalaryIndex.build(copy), TrigramIndex.build(copy), idIndex);
+    }
+
+    /**
+     * Returns this roster as confirmed unchanged by the upstream at a later time, sharing its indexes.
+     *
+     * @param revalidatedAt when the upstream confirmed the roster
+     */
+    public RosterSnapshot revalidated(Instant revalidatedAt) {
+        return new RosterSnapshot(employees, revalidatedAt, salaryIndex, nameIndex, idIndex);
+    }
+
+    /**
+     * @param id the employee id
+     * @return the employee with this id, or {@code null} if the snapshot does not know it
+     */
+    public Employee findById(String id) {
+        return idIndex.get(id);
+    }
+
+    /**
+     * Adds an employee fetched outside of the roster, so later lookups of its id are answered locally.
+     *
+     * @param employee the employee to index
+     */
+    public void remember(Employee employee) {
+        if (employee.getId() != null) {
+            idIndex.putIfAbsent(employee.getId(), employee);
+        }
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+}
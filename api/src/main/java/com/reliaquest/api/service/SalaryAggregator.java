@@ -0,0 +1,133 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Answers the salary questions of a roster in one streaming pass over the upstream's JSON, without building
+ * {@link com.reliaquest.api.model.Employee} objects.
+ * <p>
+ * Only a running maximum and a min-heap of the {@code limit} best earners are kept, so memory stays O(limit) however
+ * large the roster is. Results match {@link SalaryIndex}: employees without a salary are left out, employees without
+ * a name never make the top list, and equal salaries keep their roster order. The body is parsed by the caller's
+ * {@link JsonFactory}, so it honours the same parser settings as every other upstream response.
+ */
+public final class SalaryAggregator {
+    private static final Comparator<Earner> WORST_FIRST = Comparator.comparingInt(Earner::salary)
+            .thenComparing(Comparator.comparingLong(Earner::position).reversed());
+
+    private final int limit;
+    private final PriorityQueue<Earner> topEarners;
+    private boolean anySalary;
+    private int highest;
+    private long position;
+
+    public SalaryAggregator(int limit) {
+        this.limit = limit;
+        this.topEarners = new PriorityQueue<>(Math.max(1, limit), WORST_FIRST);
+    }
+
+    /**
+     * Streams an {@code {"data": [employee, ...]}} upstream response through a new aggregator.
+     *
+     * @param json  creates the parser, typically the application {@code ObjectMapper}'s factory
+     * @param body  the response body, closed once read
+     * @param limit how many top earners to keep
+     * @return the filled aggregator
+     * @throws IOException if the body cannot be read or is not valid JSON
+     */
+    public static SalaryAggregator read(JsonFactory json, InputStream body, int limit) throws IOException {
+        var aggregator = new SalaryAggregator(limit);
+        try (var parser = json.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return aggregator;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                var value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    aggregator.readEmployees(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return aggregator;
+    }
+
+    private void readEmployees(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            Integer salary = null;
+            String name = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                var value = parser.nextToken();
+                if ("employee_salary".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    salary = parser.getIntValue();
+                } else if ("employee_name".equals(field) && value == JsonToken.VALUE_STRING) {
+                    name = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            accept(salary, name);
+        }
+    }
+
+    /**
+     * Feeds the next employee of the roster.
+     *
+     * @param salary the employee's salary, may be {@code null}
+     * @param name   the employee's name, may be {@code null}
+     */
+    public void accept(Integer salary, String name) {
+        var current = position++;
+        if (salary == null) {
+            return;
+        }
+        if (!anySalary || salary > highest) {
+            highest = salary;
+            anySalary = true;
+        }
+        if (name == null || limit <= 0) {
+            return;
+        }
+        if (topEarners.size() < limit) {
+            topEarners.add(new Earner(salary, current, name));
+        } else if (salary > topEarners.peek().salary()) {
+            // A later employee only displaces an earlier one on a strictly higher salary
+            topEarners.poll();
+            topEarners.add(new Earner(salary, current, name));
+        }
+    }
+
+    /**
+     * @return the highest salary, or 0 if no employee has one
+     */
+    public int highest() {
+        return highest;
+    }
+
+    /**
+     * @return names of the highest earners, highest first
+     */
+    public List<String> topNames() {
+        var earners = new ArrayList<>(topEarners);
+        earners.sort(WORST_FIRST.reversed());
+        return earners.stream().map(Earner::name).toList();
+    }
+
+    private record Earner(int salary, long position, String name) {}
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Salaries of a roster sorted once, highest first, with the matching names kept in a parallel array.
+ * Employees without a salary are left out. Equal salaries keep their roster order.
+ */
+public final class SalaryIndex {
+    private static final SalaryIndex EMPTY = new SalaryIndex(new int[0], new String[0]);
+
+    private final int[] salaries;
+    private final String[] names;
+
+    private SalaryIndex(int[] salaries, String[] names) {
+        this.salaries = salaries;
+        this.names = names;
+    }
+
+    public static SalaryIndex build(List<Employee> employees) {
+        // Pack salary and inverted roster position into one long so a primitive sort orders by salary and then
+        // keeps ties in roster order once walked from the top
+        var keys = new long[employees.size()];
+        var count = 0;
+        for (int position = 0; position < employees.size(); position++) {
+            var salary = employees.get(position).getSalary();
+            if (salary != null) {
+                keys[count++] = ((long) salary << 32) | (0xFFFFFFFFL - position);
+            }
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(keys, 0, count);
+
+        var salaries = new int[count];
+        var names = new String[count];
+        for (int rank = 0; rank < count; rank++) {
+            var key = keys[count - 1 - rank];
+            salaries[rank] = (int) (key >> 32);
+            names[rank] = employees.get((int) (0xFFFFFFFFL - (key & 0xFFFFFFFFL))).getName();
+        }
+        return new SalaryIndex(salaries, names);
+    }
+
+    /**
+     * @return the highest salary, or 0 if no employee has one
+     */
+    public int highest() {
+        return salaries.length == 0 ? 0 : salaries[0];
+    }
+
+    /**
+     * @param limit maximum number of names to return
+     * @return names of the highest earners, highest first, skipping employees without a name
+     */
+    public List<String> topNames(int limit) {
+        var topNames = new ArrayList<String>(Math.min(limit, names.length));
+        for (int rank = 0; rank < names.length && topNames.size() < limit; rank++) {
+            if (names[rank] != null) {
+                topNames.add(names[rank]);
+            }
+        }
+        return List.copyOf(topNames);
+    }
+}
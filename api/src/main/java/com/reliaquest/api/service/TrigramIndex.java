@@ -0,0 +1,177 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index from the trigrams of case-folded employee names to roster positions.
+ * <p>
+ * Posting lists are stored back to back in one int array, addressed by per-trigram offsets. A substring query
+ * intersects the posting lists of its trigrams, shortest first, and only the surviving candidates are checked with
+ * {@link String#contains}. Queries shorter than a trigram fall back to a scan of the pre-folded names.
+ */
+public final class TrigramIndex {
+    private static final int GRAM = 3;
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final List<Employee> employees;
+    private final String[] foldedNames;
+    private final Map<Long, Integer> trigramIds;
+    private final int[] offsets;
+    private final int[] postings;
+
+    private TrigramIndex(
+            List<Employee> employees,
+            String[] foldedNames,
+            Map<Long, Integer> trigramIds,
+            int[] offsets,
+            int[] postings) {
+        this.employees = employees;
+        this.foldedNames = foldedNames;
+        this.trigramIds = trigramIds;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    public static TrigramIndex build(List<Employee> employees) {
+        var foldedNames = new String[employees.size()];
+        var trigramCount = 0;
+        for (int position = 0; position < employees.size(); position++) {
+            var name = employees.get(position).getName();
+            if (name != null) {
+                foldedNames[position] = fold(name);
+                trigramCount += Math.max(0, foldedNames[position].length() - GRAM + 1);
+            }
+        }
+
+        // (trigram id, position) pairs, sorted afterwards to lay out the posting lists
+        var trigramIds = new HashMap<Long, Integer>();
+        var pairs = new long[trigramCount];
+        var pairCount = 0;
+        for (int position = 0; position < foldedNames.length; position++) {
+            var folded = foldedNames[position];
+            if (folded == null) {
+                continue;
+            }
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                int id = trigramIds.computeIfAbsent(trigram(folded, i), ignored -> trigramIds.size());
+                pairs[pairCount++] = ((long) id << 32) | position;
+            }
+        }
+        Arrays.sort(pairs, 0, pairCount);
+
+        var offsets = new int[trigramIds.size() + 1];
+        var postings = new int[pairCount];
+        var postingCount = 0;
+        var previous = -1L;
+        for (int i = 0; i < pairCount; i++) {
+            if (pairs[i] == previous) {
+                // Trigram repeated within the same name
+                continue;
+            }
+            previous = pairs[i];
+            offsets[(int) (pairs[i] >>> 32) + 1]++;
+            postings[postingCount++] = (int) pairs[i];
+        }
+        for (int id = 0; id < trigramIds.size(); id++) {
+            offsets[id + 1] += offsets[id];
+        }
+
+        return new TrigramIndex(
+                employees, foldedNames, trigramIds, offsets, Arrays.copyOf(postings, postingCount));
+    }
+
+    /**
+     * Finds employees whose name contains the query, ignoring case.
+     *
+     * @param query the name fragment to look for
+     * @return matching employees in roster order
+     */
+    public List<Employee> search(String query) {
+        var folded = fold(query);
+        var positions = folded.length() < GRAM ? scan(folded) : lookup(folded);
+
+        var matches = new ArrayList<Employee>(positions.length);
+        for (int position : positions) {
+            matches.add(employees.get(position));
+        }
+        return List.copyOf(matches);
+    }
+
+    private int[] scan(String folded) {
+        var matches = new int[foldedNames.length];
+        var count = 0;
+        for (int position = 0; position < foldedNames.length; position++) {
+            if (foldedNames[position] != null && foldedNames[position].contains(folded)) {
+                matches[count++] = position;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private int[] lookup(String folded) {
+        var ids = new int[folded.length() - GRAM + 1];
+        var idCount = 0;
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            var id = trigramIds.get(trigram(folded, i));
+            if (id == null) {
+                return NO_MATCHES;
+            }
+            ids[idCount++] = id;
+        }
+
+        // Intersect shortest lists first so the candidate set shrinks as fast as possible
+        var byLength = Arrays.stream(ids, 0, idCount)
+                .distinct()
+                .boxed()
+                .sorted((left, right) -> Integer.compare(postingLength(left), postingLength(right)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        var candidates = Arrays.copyOfRange(postings, offsets[byLength[0]], offsets[byLength[0] + 1]);
+        var candidateCount = candidates.length;
+        for (int i = 1; i < byLength.length && candidateCount > 0; i++) {
+            candidateCount = retainAll(candidates, candidateCount, byLength[i]);
+        }
+
+        var matchCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (foldedNames[candidates[i]].contains(folded)) {
+                candidates[matchCount++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, matchCount);
+    }
+
+    private int retainAll(int[] candidates, int candidateCount, int id) {
+        var retained = 0;
+        var cursor = offsets[id];
+        var end = offsets[id + 1];
+        for (int i = 0; i < candidateCount && cursor < end; i++) {
+            while (cursor < end && postings[cursor] < candidates[i]) {
+                cursor++;
+            }
+            if (cursor < end && postings[cursor] == candidates[i]) {
+                candidates[retained++] = candidates[i];
+            }
+        }
+        return retained;
+    }
+
+    private int postingLength(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String value, int start) {
+        return ((long) value.charAt(start) << 32) | ((long) value.charAt(start + 1) << 16) | value.charAt(start + 2);
+    }
+}
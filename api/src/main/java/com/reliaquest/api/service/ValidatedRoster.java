@@ -0,0 +1,70 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.ChangeFeed;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A roster as last decoded, together with the tag the upstream gave it. Both client modes revalidate it with
+ * If-None-Match, or bring it up to date from the upstream's change feed.
+ *
+ * @param etag      the upstream's entity tag for the roster
+ * @param employees the roster as decoded, handed back unchanged on a 304 Not Modified
+ */
+record ValidatedRoster(String etag, List<Employee> employees) {
+
+    /**
+     * @return the roster version the entity tag carries, to ask the change feed with
+     */
+    String version() {
+        var version = etag.startsWith("W/") ? etag.substring(2) : etag;
+        return version.length() >= 2 && version.startsWith("\"") && version.endsWith("\"")
+                ? version.substring(1, version.length() - 1)
+                : version;
+    }
+
+    /**
+     * @param feed the changes since {@link #version()}
+     * @return the roster with the changes applied, tagged with the feed's version, or this very roster if the feed
+     *     has no changes
+     */
+    ValidatedRoster apply(ChangeFeed feed) {
+        if (feed.getChanges() == null || feed.getChanges().isEmpty()) {
+            return this;
+        }
+        return new ValidatedRoster('"' + feed.getVersion() + '"', applyChanges(employees, feed.getChanges()));
+    }
+
+    /**
+     * Replays creates and deletes on a roster the way the upstream made them: a created employee goes to the end,
+     * replacing any employee with the same id.
+     */
+    static List<Employee> applyChanges(List<Employee> employees, List<EmployeeChange> changes) {
+        // Latest state of every touched id, in the order the upstream last added them; null once deleted
+        var touched = new LinkedHashMap<String, Employee>();
+        for (var change : changes) {
+            var employee = change.getEmployee();
+            if (employee == null || employee.getId() == null) {
+                continue;
+            }
+            touched.remove(employee.getId());
+            touched.put(employee.getId(), change.getType() == EmployeeChange.Type.CREATED ? employee : null);
+        }
+
+        var updated = new ArrayList<Employee>(employees.size() + touched.size());
+        for (var employee : employees) {
+            if (employee.getId() == null || !touched.containsKey(employee.getId())) {
+                updated.add(employee);
+            }
+        }
+        for (var employee : touched.values()) {
+            if (employee != null) {
+                updated.add(employee);
+            }
+        }
+        return List.copyOf(updated);
+    }
+}
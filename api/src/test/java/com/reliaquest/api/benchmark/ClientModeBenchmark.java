@@ -0,0 +1,223 @@
+package com.reliaquest.api.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.config.UpstreamProperties;
+import com.reliaquest.api.service.EmployeeServiceImpl;
+import com.reliaquest.api.service.ReactiveEmployeeServiceImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Compares the blocking and reactive {@link com.reliaquest.api.service.EmployeeService} implementations against a
+ * local stub upstream that answers every employee lookup after a fixed delay.
+ * <p>
+ * Both keep the same number of lookups in flight. The blocking service needs one caller thread per lookup, the
+ * reactive one multiplexes them over its event loop. Reports the peak number of live threads (stub threads excluded)
+ * and the p50/p99 lookup latency. Run with {@code ./gradlew :api:clientModeBenchmark}.
+ * <p>
+ * The services are called directly, so this measures the upstream client alone. Requests through the api's Spring MVC
+ * controller hold a servlet thread each in either mode.
+ */
+@Tag("benchmark")
+class ClientModeBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(ClientModeBenchmark.class);
+    private static final int IN_FLIGHT = 500;
+    private static final int REQUESTS = 10_000;
+    private static final long UPSTREAM_DELAY_MILLIS = 50;
+    private static final String STUB_THREAD_PREFIX = "stub-";
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private UpstreamProperties upstreamProperties;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        var threadIds = new AtomicInteger();
+        stubExecutor = Executors.newFixedThreadPool(
+                IN_FLIGHT + 50, runnable -> new Thread(runnable, STUB_THREAD_PREFIX + threadIds.incrementAndGet()));
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), IN_FLIGHT * 2);
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/api/v1/employee", ClientModeBenchmark::answerLookup);
+        stub.start();
+
+        upstreamProperties = new UpstreamProperties();
+        upstreamProperties.setBaseUrl("http://localhost:" + stub.getAddress().getPort() + "/api/v1/employee");
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void compareBlockingAndReactiveLookups() throws Exception {
+        var blocking = runBlocking();
+        var reactive = runReactive();
+
+        log.info("Client mode comparison:\n{}\n{}\n{}", Result.HEADER, blocking, reactive);
+
+        assertThat(blocking.completed()).isEqualTo(REQUESTS);
+        assertThat(reactive.completed()).isEqualTo(REQUESTS);
+    }
+
+    private Result runBlocking() throws Exception {
+        var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(IN_FLIGHT)
+                .setMaxConnPerRoute(IN_FLIGHT)
+                .build();
+        var restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(
+                HttpClients.custom().setConnectionManager(connectionManager).build()));
+        var service = new EmployeeServiceImpl(
+                restTemplate, upstreamProperties, new RosterProperties(), new SingleFlight());
+
+        var latencies = new long[REQUESTS];
+        var completed = new AtomicInteger();
+        var callers = Executors.newFixedThreadPool(IN_FLIGHT);
+        try (var threads = ThreadSampler.start()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                var request = i;
+                callers.execute(() -> {
+                    var start = System.nanoTime();
+                    service.getEmployeeById("blocking-" + request);
+                    latencies[request] = System.nanoTime() - start;
+                    completed.incrementAndGet();
+                });
+            }
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.MINUTES);
+            return Result.of("blocking", threads.peak(), latencies, completed.get());
+        } finally {
+            connectionManager.close();
+        }
+    }
+
+    private Result runReactive() throws Exception {
+        var connectionProvider = ConnectionProvider.builder("benchmark")
+                .maxConnections(IN_FLIGHT)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        var webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        var service = new ReactiveEmployeeServiceImpl(webClient, upstreamProperties, new RosterProperties());
+
+        var latencies = new long[REQUESTS];
+        var completed = new AtomicInteger();
+        try (var threads = ThreadSampler.start()) {
+            Flux.range(0, REQUESTS)
+                    .flatMap(
+                            request -> {
+                                var start = System.nanoTime();
+                                return service.employeeById("reactive-" + request)
+                                        .doOnNext(employee -> {
+                                            latencies[request] = System.nanoTime() - start;
+                                            completed.incrementAndGet();
+                                        });
+                            },
+                            IN_FLIGHT)
+                    .blockLast();
+            return Result.of("reactive", threads.peak(), latencies, completed.get());
+        } finally {
+            connectionProvider.dispose();
+        }
+    }
+
+    private static void answerLookup(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(UPSTREAM_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var path = exchange.getRequestURI().getPath();
+        var id = path.substring(path.lastIndexOf('/') + 1);
+        var body = ("{\"data\":{\"id\":\"%s\",\"employee_name\":\"Employee %s\",\"employee_salary\":50000,"
+                        + "\"employee_age\":30,\"employee_title\":\"Developer\",\"employee_email\":\"e@company.com\"},"
+                        + "\"status\":\"Successfully processed request.\"}")
+                .formatted(id, id)
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private record Result(String mode, int peakThreads, long p50Millis, long p99Millis, int completed) {
+        static final String HEADER = "%-10s %12s %10s %10s".formatted("mode", "peakThreads", "p50(ms)", "p99(ms)");
+
+        static Result of(String mode, int peakThreads, long[] latencies, int completed) {
+            var sorted = Arrays.copyOf(latencies, latencies.length);
+            Arrays.sort(sorted);
+            return new Result(
+                    mode,
+                    peakThreads,
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[(int) Math.ceil(sorted.length * 0.99) - 1]),
+                    completed);
+        }
+
+        @Override
+        public String toString() {
+            return "%-10s %12d %10d %10d".formatted(mode, peakThreads, p50Millis, p99Millis);
+        }
+    }
+
+    /**
+     * Samples the number of live non-stub threads every few milliseconds and remembers the peak.
+     */
+    private static final class ThreadSampler implements AutoCloseable {
+        private final AtomicLong peak = new AtomicLong();
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+
+        static ThreadSampler start() {
+            var threadSampler = new ThreadSampler();
+            threadSampler.sampler.scheduleAtFixedRate(threadSampler::sample, 0, 5, TimeUnit.MILLISECONDS);
+            return threadSampler;
+        }
+
+        private void sample() {
+            var live = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> !thread.getName().startsWith(STUB_THREAD_PREFIX))
+                    .count();
+            peak.accumulateAndGet(live, Math::max);
+        }
+
+        int peak() {
+            return (int) peak.get();
+        }
+
+        @Override
+        public void close() {
+            sampler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneCall_AmongConcurrentCallersOfSameKey() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var results = new ArrayList<Future<String>>();
+
+        results.add(executor.submit(() -> singleFlight.execute("roster", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "roster-v1";
+        })));
+        while (calls.get() == 0) {
+            Thread.onSpinWait();
+        }
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("roster", () -> {
+                calls.incrementAndGet();
+                return "unexpected";
+            })));
+        }
+        // Give the joiners time to attach to the running flight before it completes
+        Thread.sleep(100);
+        release.countDown();
+
+        for (var result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("roster-v1");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.getFlights()).isEqualTo(1);
+        assertThat(singleFlight.getCoalescedCallers()).isEqualTo(7);
+        var flightCallers = registry.get("employee.upstream.flight.callers").summary();
+        assertThat(flightCallers.count()).isEqualTo(1);
+        assertThat(flightCallers.max()).isEqualTo(8);
+    }
+
+    @Test
+    void execute_ShouldRecordCallersOfEveryFlight() {
+        var registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+
+        singleFlight.execute("roster", () -> "roster-v1");
+        singleFlight.execute("roster", () -> "roster-v2");
+        singleFlight.execute("employee/1", () -> "employee-1");
+
+        var flightCallers = registry.get("employee.upstream.flight.callers").summary();
+        assertThat(flightCallers.count()).isEqualTo(3);
+        assertThat(flightCallers.totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void execute_ShouldStartNewFlight_OnceThePreviousOneFailed() {
+        assertThatThrownBy(() -> singleFlight.execute("roster", () -> {
+                    throw new IllegalStateException("upstream down");
+                }))
+                .hasMessage("upstream down");
+
+        assertThat(singleFlight.execute("roster", () -> "roster-v2")).isEqualTo("roster-v2");
+        assertThat(singleFlight.getFlights()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_ShouldReleaseJoiners_WhenLeaderThrowsError() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var leader = executor.submit(() -> singleFlight.execute("roster", () -> {
+            started.countDown();
+            await(release);
+            throw new AssertionError("leader broke");
+        }));
+        await(started);
+        var joiners = new ArrayList<Future<String>>();
+        for (int i = 0; i < 4; i++) {
+            joiners.add(executor.submit(() -> singleFlight.execute("roster", () -> "unexpected")));
+        }
+        // Give the joiners time to attach to the running flight before it fails
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+        for (var joiner : joiners) {
+            assertThatThrownBy(() -> joiner.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(AssertionError.class)
+                    .hasRootCauseMessage("leader broke");
+        }
+        assertThat(singleFlight.execute("roster", () -> "roster-v2")).isEqualTo("roster-v2");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+class UpstreamMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UpstreamMetricsInterceptor interceptor =
+            new UpstreamMetricsInterceptor(new UpstreamMetrics(registry, "http://localhost:8112/api/v1/employee"));
+
+    private ClientHttpResponse exchange(HttpMethod method, String uri, HttpStatus status, String body)
+            throws IOException {
+        var request = mock(HttpRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        when(request.getURI()).thenReturn(URI.create(uri));
+        var response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(status);
+        when(response.getBody()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        var execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenReturn(response);
+        return interceptor.intercept(request, new byte[0], execution);
+    }
+
+    @Test
+    void intercept_ShouldTimeCallsPerEndpoint_WithoutTaggingEmployeeIds() throws IOException {
+        exchange(HttpMethod.GET, "http://localhost:8112/api/v1/employee", HttpStatus.OK, "").close();
+        exchange(HttpMethod.GET, "http://localhost:8112/api/v1/employee/4a3a170b", HttpStatus.OK, "").close();
+        exchange(HttpMethod.GET, "http://localhost:8112/api/v1/employee/5255f1a5", HttpStatus.OK, "").close();
+
+        assertThat(registry.get("employee.upstream.requests")
+                        .tags("endpoint", "all-employees", "status", "200")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        assertThat(registry.get("employee.upstream.requests")
+                        .tags("endpoint", "employee-by-id", "status", "200")
+                        .timer()
+                        .count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void intercept_ShouldCountThrottledAndServerErrorResponses() throws IOException {
+        exchange(HttpMethod.GET, "http://localhost:8112/api/v1/employee", HttpStatus.TOO_MANY_REQUESTS, "")
+                .close();
+        exchange(HttpMethod.POST, "http://localhost:8112/api/v1/employee", HttpStatus.BAD_GATEWAY, "")
+                .close();
+
+        assertThat(registry.get("employee.upstream.throttled")
+                        .tag("endpoint", "all-employees")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+        assertThat(registry.get("employee.upstream.server.errors")
+                        .tag("endpoint", "create")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void intercept_ShouldRecordBytesRead_WhenResponseIsClosed() throws IOException {
+        var response =
+                exchange(HttpMethod.GET, "http://localhost:8112/api/v1/employee", HttpStatus.OK, "{\"data\":[]}");
+        response.getBody().readAllBytes();
+        response.close();
+
+        var size = registry.get("employee.upstream.response.size")
+                .tag("endpoint", "all-employees")
+                .summary();
+        assertThat(size.count()).isEqualTo(1);
+        assertThat(size.totalAmount()).isEqualTo(11);
+    }
+}
@@ -0,0 +1,152 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.api.config.RateLimitProperties;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private UpstreamRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new RateLimitProperties();
+        properties.setInitialBudget(10);
+        properties.setInitialWindow(Duration.ofSeconds(30));
+        properties.setMaxWindow(Duration.ofMinutes(2));
+        properties.setMaxWait(Duration.ZERO);
+        properties.setRecoveryWindows(5);
+        rateLimiter = new UpstreamRateLimiter(properties, nanos::get);
+    }
+
+    @Test
+    void acquire_ShouldFailFast_OnceBudgetIsSpentWithinWindow() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire();
+        }
+
+        assertThatThrownBy(() -> rateLimiter.acquire()).isInstanceOf(UpstreamThrottledException.class);
+
+        advance(Duration.ofSeconds(30));
+        rateLimiter.acquire();
+    }
+
+    @Test
+    void onThrottled_ShouldLearnBudget_FromSuccessesBeforeThe429() {
+        for (int i = 0; i < 6; i++) {
+            rateLimiter.acquire();
+            rateLimiter.onSuccess();
+        }
+        rateLimiter.acquire();
+        rateLimiter.onThrottled(null);
+
+        assertThat(rateLimiter.getBudget()).isEqualTo(6);
+        assertThatThrownBy(() -> rateLimiter.acquire()).isInstanceOf(UpstreamThrottledException.class);
+
+        advance(Duration.ofSeconds(30));
+        for (int i = 0; i < 6; i++) {
+            rateLimiter.acquire();
+        }
+        assertThatThrownBy(() -> rateLimiter.acquire()).isInstanceOf(UpstreamThrottledException.class);
+    }
+
+    @Test
+    void onThrottled_ShouldWidenWindow_WhenFirstRequestAfterRefillIsRejected() {
+        rateLimiter.acquire();
+        rateLimiter.onThrottled(null);
+
+        assertThat(rateLimiter.getWindow()).isEqualTo(Duration.ofSeconds(60));
+        advance(Duration.ofSeconds(59));
+        assertThatThrownBy(() -> rateLimiter.acquire()).isInstanceOf(UpstreamThrottledException.class);
+    }
+
+    @Test
+    void onThrottled_ShouldHonourRetryAfter() {
+        rateLimiter.acquire();
+        rateLimiter.onThrottled(Duration.ofSeconds(5));
+
+        advance(Duration.ofSeconds(5));
+        rateLimiter.acquire();
+    }
+
+    @Test
+    void refill_ShouldProbeLargerBudget_AfterCleanWindows() {
+        for (int i = 0; i < 6; i++) {
+            rateLimiter.acquire();
+            rateLimiter.onSuccess();
+        }
+        rateLimiter.acquire();
+        rateLimiter.onThrottled(null);
+        advance(Duration.ofSeconds(30));
+
+        spendCleanWindows(5, 6, Duration.ofSeconds(30));
+        assertThat(rateLimiter.getBudget()).isEqualTo(6);
+
+        for (int i = 0; i < 7; i++) {
+            rateLimiter.acquire();
+        }
+        assertThat(rateLimiter.getBudget()).isEqualTo(7);
+        assertThatThrownBy(() -> rateLimiter.acquire()).isInstanceOf(UpstreamThrottledException.class);
+    }
+
+    @Test
+    void refill_ShouldShortenWidenedWindowBeforeRaisingBudget() {
+        rateLimiter.acquire();
+        rateLimiter.onThrottled(null);
+        advance(Duration.ofSeconds(60));
+
+        spendCleanWindows(5, 10, Duration.ofSeconds(60));
+        rateLimiter.acquire();
+        rateLimiter.onSuccess();
+
+        assertThat(rateLimiter.getWindow()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(rateLimiter.getBudget()).isEqualTo(10);
+
+        for (int i = 1; i < 10; i++) {
+            rateLimiter.acquire();
+            rateLimiter.onSuccess();
+        }
+        advance(Duration.ofSeconds(30));
+        spendCleanWindows(4, 10, Duration.ofSeconds(30));
+        rateLimiter.acquire();
+
+        assertThat(rateLimiter.getBudget()).isEqualTo(11);
+    }
+
+    @Test
+    void refill_ShouldRestartCount_WhenWindowIsThrottled() {
+        spendCleanWindows(4, 10, Duration.ofSeconds(30));
+        for (int i = 0; i < 9; i++) {
+            rateLimiter.acquire();
+            rateLimiter.onSuccess();
+        }
+        rateLimiter.acquire();
+        rateLimiter.onThrottled(null);
+        advance(Duration.ofSeconds(30));
+
+        spendCleanWindows(4, 9, Duration.ofSeconds(30));
+        rateLimiter.acquire();
+
+        assertThat(rateLimiter.getBudget()).isEqualTo(9);
+    }
+
+    private void spendCleanWindows(int windows, int budget, Duration window) {
+        for (int w = 0; w < windows; w++) {
+            for (int i = 0; i < budget; i++) {
+                rateLimiter.acquire();
+                rateLimiter.onSuccess();
+            }
+            advance(window);
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+class RestTemplateConfigTest {
+    private final RestTemplateConfig config = new RestTemplateConfig();
+    private final HttpClientProperties properties = new HttpClientProperties();
+    private final HttpClientPoolMetrics metrics = config.httpClientPoolMetrics();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            var body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        } else if (connectionManager != null) {
+            connectionManager.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void upstreamConnectionManager_ShouldSizePoolFromProperties() {
+        properties.setMaxConnections(7);
+        properties.setMaxConnectionsPerRoute(3);
+
+        connectionManager = config.upstreamConnectionManager(properties, metrics);
+
+        assertThat(connectionManager.getMaxTotal()).isEqualTo(7);
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(3);
+    }
+
+    @Test
+    void bindTo_ShouldRegisterEveryPoolMeter() {
+        metrics.bindTo(registry);
+
+        assertThat(registry.getMeters())
+                .extracting(meter -> meter.getId().getName())
+                .containsExactlyInAnyOrder(
+                        "employee.http.pool.connections.opened",
+                        "employee.http.pool.exchanges",
+                        "employee.http.pool.connections.kept.alive",
+                        "employee.http.pool.reuse.ratio",
+                        "employee.http.pool.leased",
+                        "employee.http.pool.available",
+                        "employee.http.pool.pending");
+    }
+
+    @Test
+    void upstreamHttpClient_ShouldReuseOneKeptAliveConnection_AndReportItThroughMeters() {
+        metrics.bindTo(registry);
+        connectionManager = config.upstreamConnectionManager(properties, metrics);
+        httpClient = config.upstreamHttpClient(connectionManager, properties, metrics);
+        var restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        var url = "http://localhost:" + server.getAddress().getPort() + "/api/v1/employee";
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(restTemplate.getForObject(url, String.class)).isEqualTo("ok");
+        }
+
+        assertThat(registry.get("employee.http.pool.connections.opened")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(1);
+        assertThat(registry.get("employee.http.pool.exchanges").functionCounter().count())
+                .isEqualTo(4);
+        assertThat(registry.get("employee.http.pool.connections.kept.alive")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(4);
+        assertThat(registry.get("employee.http.pool.reuse.ratio").gauge().value())
+                .isEqualTo(0.75);
+        assertThat(registry.get("employee.http.pool.leased").gauge().value()).isZero();
+        assertThat(registry.get("employee.http.pool.available").gauge().value()).isEqualTo(1);
+    }
+}
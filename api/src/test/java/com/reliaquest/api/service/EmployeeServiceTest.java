@@ -3,12 +3,26 @@ package com.reliaquest.api.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.config.UpstreamProperties;
 import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.BulkCreateResult;
+import com.reliaquest.api.model.ChangeFeed;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
 import com.reliaquest.api.model.EmployeeInput;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,9 +33,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -92,6 +111,117 @@ class EmployeeServiceTest {
                 .hasMessageContaining("Failed to fetch employees");
     }
 
+    @Test
+    void derivedReads_ShouldShareOneUpstreamFetch_WhileRosterIsFresh() {
+        var employees = Arrays.asList(
+                new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com"),
+                new Employee("2", "Jane Smith", 75000, 28, "Senior Developer", "jane@company.com"));
+
+        var mockResponse = new ApiResponse<>(employees, "Successfully processed request.");
+        var responseEntity = new ResponseEntity<>(mockResponse, HttpStatus.OK);
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(responseEntity);
+
+        assertThat(employeeService.getEmployeesByNameSearch("jane")).hasSize(1);
+        assertThat(employeeService.getHighestSalaryOfEmployees()).isEqualTo(75000);
+        assertThat(employeeService.getTopTenHighestEarningEmployeeNames()).containsExactly("Jane Smith", "John Doe");
+
+        verify(restTemplate, times(1))
+                .exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any());
+    }
+
+    @Test
+    void getAllEmployees_ShouldReuseRoster_WhenUpstreamAnswersNotModified() {
+        var employees = List.of(new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com"));
+        var tagged = ResponseEntity.ok()
+                .eTag("\"v1\"")
+                .body(new ApiResponse<>(employees, "Successfully processed request."));
+        ResponseEntity<ApiResponse<List<Employee>>> notModified =
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(tagged);
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/changes?since=v1"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<ChangeFeed>>>any()))
+                .thenThrow(
+                        HttpClientErrorException.create(HttpStatus.GONE, "Gone", HttpHeaders.EMPTY, new byte[0], null));
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        ArgumentMatchers.<HttpEntity<?>>argThat(request -> request != null
+                                && request.getHeaders().getIfNoneMatch().equals(List.of("\"v1\""))),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(notModified);
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<Employee>>>any()))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(employees.get(0), "Successfully processed request.")));
+
+        var first = employeeService.getAllEmployees();
+        // Creating invalidates the roster, so the next read goes back to the upstream
+        employeeService.createEmployee(new EmployeeInput("John Doe", 50000, 30, "Developer"));
+        var second = employeeService.getAllEmployees();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void getAllEmployees_ShouldApplyChangeFeed_WhenRosterWasTagged() {
+        var john = new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com");
+        var jane = new Employee("2", "Jane Smith", 75000, 28, "Senior Developer", "jane@company.com");
+        var jack = new Employee("3", "Jack Brown", 60000, 35, "Architect", "jack@company.com");
+        var feed = new ChangeFeed(
+                "v3",
+                List.of(
+                        new EmployeeChange(2, EmployeeChange.Type.DELETED, john),
+                        new EmployeeChange(3, EmployeeChange.Type.CREATED, jack)));
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(ResponseEntity.ok()
+                        .eTag("\"v1\"")
+                        .body(new ApiResponse<>(List.of(john, jane), "Successfully processed request.")));
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/changes?since=v1"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<ChangeFeed>>>any()))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(feed, "Successfully processed request.")));
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<Employee>>>any()))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(jack, "Successfully processed request.")));
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(new EmployeeInput("Jack Brown", 60000, 35, "Architect"));
+
+        assertThat(employeeService.getAllEmployees()).containsExactly(jane, jack);
+        assertThat(employeeService.getHighestSalaryOfEmployees()).isEqualTo(75000);
+    }
+
     @Test
     void getEmployeeById_ShouldReturnEmployee_WhenEmployeeExists() {
         var employeeId = "123";
@@ -113,6 +243,34 @@ class EmployeeServiceTest {
         assertThat(actualEmployee.getName()).isEqualTo("John Doe");
     }
 
+    @Test
+    void getEmployeeById_ShouldAnswerFromRosterSnapshot_WhenRosterIsFresh() {
+        var employees = Arrays.asList(
+                new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com"),
+                new Employee("2", "Jane Smith", 75000, 28, "Senior Developer", "jane@company.com"));
+
+        var mockResponse = new ApiResponse<>(employees, "Successfully processed request.");
+        var responseEntity = new ResponseEntity<>(mockResponse, HttpStatus.OK);
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(responseEntity);
+
+        employeeService.getAllEmployees();
+        var actualEmployee = employeeService.getEmployeeById("2");
+
+        assertThat(actualEmployee.getName()).isEqualTo("Jane Smith");
+        verify(restTemplate, never())
+                .exchange(
+                        eq("http://localhost:8112/api/v1/employee/2"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<Employee>>>any());
+    }
+
     @Test
     void getEmployeeById_ShouldThrowException_WhenIdIsNull() {
         assertThatThrownBy(() -> employeeService.getEmployeeById(null))
@@ -144,6 +302,32 @@ class EmployeeServiceTest {
                 .hasMessageContaining("Employee not found with ID: " + employeeId);
     }
 
+    @Test
+    void streamAllEmployees_ShouldRelayRosterSnapshot_WhenRosterIsFresh() {
+        var employee1 = new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com");
+        var employee2 = new Employee("2", "Jane Smith", 75000, 28, "Senior Developer", "jane@company.com");
+        var mockResponse = new ApiResponse<>(Arrays.asList(employee1, employee2), "Successfully processed request.");
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
+
+        employeeService.getAllEmployees();
+        var streamed = new ArrayList<Employee>();
+        employeeService.streamAllEmployees(streamed::add);
+
+        assertThat(streamed).containsExactly(employee1, employee2);
+        verify(restTemplate, times(1))
+                .exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any());
+    }
+
     @Test
     void getEmployeesByNameSearch_ShouldReturnMatchingEmployees() {
         var searchString = "John";
@@ -261,6 +445,63 @@ class EmployeeServiceTest {
         assertThat(topTenNames).doesNotContain("Employee12"); // Should not include 12th
     }
 
+    @Test
+    void getHighestSalaryOfEmployees_ShouldAnswerFromCachedRoster_WhenStreamingAndSnapshotIsUsable() {
+        var streamingService = streamingService();
+        var employees = List.of(
+                new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com"),
+                new Employee("2", "Jane Smith", 75000, 28, "Senior Developer", "jane@company.com"));
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        eq(null),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(new ResponseEntity<>(new ApiResponse<>(employees, "ok"), HttpStatus.OK));
+        streamingService.getAllEmployees();
+
+        assertThat(streamingService.getHighestSalaryOfEmployees()).isEqualTo(75000);
+        assertThat(streamingService.getTopTenHighestEarningEmployeeNames()).containsExactly("Jane Smith", "John Doe");
+        verify(restTemplate, never())
+                .execute(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<Object>>any());
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees_ShouldStreamUpstream_WhenStreamingAndNoSnapshot() {
+        var streamingService = streamingService();
+        var body =
+                """
+                {"data":[
+                  {"id":"1","employee_name":"John Doe","employee_salary":50000},
+                  {"id":"2","employee_name":"Jane Smith","employee_salary":75000}
+                ]}
+                """;
+
+        when(restTemplate.execute(
+                        eq("http://localhost:8112/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<Object>>any()))
+                .thenAnswer(invocation -> {
+                    var response = mock(ClientHttpResponse.class);
+                    when(response.getBody())
+                            .thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+                    return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+                });
+
+        assertThat(streamingService.getHighestSalaryOfEmployees()).isEqualTo(75000);
+        verify(restTemplate, never())
+                .exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any());
+    }
+
     @Test
     void createEmployee_ShouldReturnCreatedEmployee_WhenValidInput() {
         var input = new EmployeeInput("John Doe", 50000, 30, "Developer");
@@ -283,6 +524,54 @@ class EmployeeServiceTest {
         assertThat(result.getSalary()).isEqualTo(50000);
     }
 
+    @Test
+    void createEmployees_ShouldSendChunks_AndReportEveryInput() {
+        var upstreamProperties = new UpstreamProperties();
+        upstreamProperties.setBulkChunkSize(2);
+        var chunkedService =
+                new EmployeeServiceImpl(restTemplate, upstreamProperties, new RosterProperties(), new SingleFlight());
+        var inputs = List.of(
+                new EmployeeInput("John Doe", 50000, 30, "Developer"),
+                new EmployeeInput("", 60000, 31, "Developer"),
+                new EmployeeInput("Jane Smith", 75000, 28, "Senior Developer"));
+        var john = new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com");
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/bulk"),
+                        eq(HttpMethod.POST),
+                        ArgumentMatchers.<HttpEntity<?>>argThat(request -> request != null
+                                && request.getBody() instanceof List<?> chunk
+                                && chunk.size() == 2),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<BulkCreateResult>>>>any()))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(
+                        List.of(
+                                new BulkCreateResult(0, john, null),
+                                new BulkCreateResult(1, null, "name must not be blank")),
+                        "Successfully processed request.")));
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/bulk"),
+                        eq(HttpMethod.POST),
+                        ArgumentMatchers.<HttpEntity<?>>argThat(request -> request != null
+                                && request.getBody() instanceof List<?> chunk
+                                && chunk.size() == 1),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<BulkCreateResult>>>>any()))
+                .thenThrow(new RestClientException("Connection refused"));
+
+        var results = chunkedService.createEmployees(inputs);
+
+        assertThat(results).extracting(BulkCreateResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(results.get(0).getEmployee()).isEqualTo(john);
+        assertThat(results.get(1).getError()).isEqualTo("name must not be blank");
+        assertThat(results.get(2).getEmployee()).isNull();
+        assertThat(results.get(2).getError()).contains("Connection refused");
+    }
+
+    @Test
+    void createEmployees_ShouldThrowException_WhenInputIsEmpty() {
+        assertThatThrownBy(() -> employeeService.createEmployees(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void createEmployee_ShouldThrowException_WhenInputIsNull() {
         assertThatThrownBy(() -> employeeService.createEmployee(null))
@@ -308,4 +597,10 @@ class EmployeeServiceTest {
         var result = employeeService.deleteEmployeeById(employeeId);
         assertThat(result).isEqualTo("John Doe");
     }
+
+    private EmployeeServiceImpl streamingService() {
+        var rosterProperties = new RosterProperties();
+        rosterProperties.setAggregation(RosterProperties.Aggregation.STREAMING);
+        return new EmployeeServiceImpl(restTemplate, new UpstreamProperties(), rosterProperties, new SingleFlight());
+    }
 }
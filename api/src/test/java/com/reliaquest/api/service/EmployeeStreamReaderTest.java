@@ -0,0 +1,56 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeStreamReaderTest {
+
+    private static final EmployeeStreamReader READER = new EmployeeStreamReader(new ObjectMapper());
+
+    private static List<Employee> read(String json) throws IOException {
+        var employees = new ArrayList<Employee>();
+        READER.forEach(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), employees::add);
+        return employees;
+    }
+
+    @Test
+    void forEach_ShouldDecodeEmployeesInRosterOrder_IgnoringEnvelopeAndUnknownFields() throws IOException {
+        var employees = read(
+                """
+                {"status":"Successfully processed request.","data":[
+                  {"id":"1","employee_name":"John Doe","employee_salary":50000,"employee_age":30,"nickname":"JD"},
+                  null,
+                  {"id":"2","employee_name":"Jane Smith","employee_salary":75000,"employee_email":"jane@company.com"}
+                ]}
+                """);
+
+        assertThat(employees).extracting(Employee::getId).containsExactly("1", "2");
+        assertThat(employees.get(0).getSalary()).isEqualTo(50000);
+        assertThat(employees.get(1).getEmail()).isEqualTo("jane@company.com");
+    }
+
+    @Test
+    void forEach_ShouldHandOverEmployeesBeforeTheBodyEnds() {
+        var employees = new ArrayList<Employee>();
+        var truncated = "{\"data\":[{\"id\":\"1\",\"employee_name\":\"John Doe\"},{\"id\":\"2\",\"employee_";
+
+        assertThatThrownBy(() -> READER.forEach(
+                        new ByteArrayInputStream(truncated.getBytes(StandardCharsets.UTF_8)), employees::add))
+                .isInstanceOf(IOException.class);
+        assertThat(employees).extracting(Employee::getId).containsExactly("1");
+    }
+
+    @Test
+    void forEach_ShouldReadNothing_WhenDataIsMissing() throws IOException {
+        assertThat(read("{\"data\":null,\"status\":\"ok\"}")).isEmpty();
+    }
+}
@@ -0,0 +1,222 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.ReactiveRateLimitFilter;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.config.RateLimitProperties;
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.config.UpstreamProperties;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.ChangeFeed;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeInput;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ReactiveEmployeeServiceImplTest {
+    private static final String BASE_URL = new UpstreamProperties().getBaseUrl();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Employee JOHN = new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com");
+    private static final Employee JANE =
+            new Employee("2", "Jane Smith", 75000, 28, "Senior Developer", "jane@company.com");
+
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private final RosterProperties rosterProperties = new RosterProperties();
+    private ReactiveEmployeeServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void allEmployees_ShouldCallUpstreamOnce_WhenCallersArriveDuringFlight() {
+        var upstreamResponse = Sinks.<ClientResponse>one();
+        service = service(request -> upstreamResponse.asMono());
+
+        var first = service.allEmployees().toFuture();
+        var second = service.allEmployees().toFuture();
+        var third = service.allEmployees().toFuture();
+        upstreamResponse.tryEmitValue(json(HttpStatus.OK, List.of(JOHN, JANE)));
+
+        assertThat(first.join()).containsExactly(JOHN, JANE);
+        assertThat(second.join()).containsExactly(JOHN, JANE);
+        assertThat(third.join()).containsExactly(JOHN, JANE);
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void employeeById_ShouldStartNewFlight_OnceThePreviousOneFinished() {
+        service = service(request -> Mono.just(json(HttpStatus.OK, JOHN)));
+
+        assertThat(service.getEmployeeById("1")).isEqualTo(JOHN);
+        assertThat(service.getEmployeeById("1")).isEqualTo(JOHN);
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void getEmployeeById_ShouldThrowNotFound_WhenUpstreamAnswers404() {
+        service = service(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+
+        assertThatThrownBy(() -> service.getEmployeeById("missing"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Employee not found with ID: missing")
+                .hasCauseInstanceOf(WebClientResponseException.NotFound.class);
+    }
+
+    @Test
+    void getAllEmployees_ShouldFailFastWithoutCallingUpstream_OnceThrottled() {
+        var properties = new RateLimitProperties();
+        properties.setMaxWait(Duration.ZERO);
+        service = service(
+                request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build()),
+                new ReactiveRateLimitFilter(new UpstreamRateLimiter(properties)));
+
+        assertThatThrownBy(() -> service.getAllEmployees())
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(WebClientResponseException.TooManyRequests.class);
+        assertThatThrownBy(() -> service.getAllEmployees())
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(UpstreamThrottledException.class);
+
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void getAllEmployees_ShouldServePreviousRoster_WhenRefetchIsThrottled() {
+        service = service(request -> {
+            if (request.method() == HttpMethod.POST) {
+                return Mono.just(json(HttpStatus.OK, JANE));
+            }
+            return Mono.just(
+                    requests.size() == 1
+                            ? json(HttpStatus.OK, List.of(JOHN))
+                            : ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build());
+        });
+
+        assertThat(service.getAllEmployees()).containsExactly(JOHN);
+        service.createEmployee(new EmployeeInput("Jane Smith", 75000, 28, "Senior Developer"));
+
+        assertThat(service.getAllEmployees()).containsExactly(JOHN);
+    }
+
+    @Test
+    void getAllEmployees_ShouldRevalidateWithIfNoneMatch_WhenChangeFeedIsOff() {
+        rosterProperties.setChangeFeed(false);
+        service = service(request -> {
+            if (request.method() == HttpMethod.POST) {
+                return Mono.just(json(HttpStatus.OK, JANE));
+            }
+            if (request.headers().getIfNoneMatch().contains("\"3\"")) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+            }
+            return Mono.just(tagged(json(HttpStatus.OK, List.of(JOHN)), "\"3\""));
+        });
+
+        var first = service.getAllEmployees();
+        service.createEmployee(new EmployeeInput("Jane Smith", 75000, 28, "Senior Developer"));
+        var second = service.getAllEmployees();
+
+        assertThat(second).isSameAs(first);
+        assertThat(requests)
+                .extracting(request -> request.headers().getIfNoneMatch())
+                .containsExactly(List.of(), List.of(), List.of("\"3\""));
+    }
+
+    @Test
+    void getAllEmployees_ShouldApplyChangeFeed_WhenRosterWasTagged() {
+        service = service(request -> {
+            if (request.method() == HttpMethod.POST) {
+                return Mono.just(json(HttpStatus.OK, JANE));
+            }
+            if (request.url().getPath().endsWith("/changes")) {
+                var change = new EmployeeChange(4, EmployeeChange.Type.CREATED, JANE);
+                return Mono.just(json(HttpStatus.OK, new ChangeFeed("4", List.of(change))));
+            }
+            return Mono.just(tagged(json(HttpStatus.OK, List.of(JOHN)), "\"3\""));
+        });
+
+        assertThat(service.getAllEmployees()).containsExactly(JOHN);
+        service.createEmployee(new EmployeeInput("Jane Smith", 75000, 28, "Senior Developer"));
+
+        assertThat(service.getAllEmployees()).containsExactly(JOHN, JANE);
+        assertThat(requests)
+                .extracting(request -> request.url().toString())
+                .containsExactly(BASE_URL, BASE_URL, BASE_URL + "/changes?since=3");
+    }
+
+    @Test
+    void getAllEmployees_ShouldRefetchRosterConditionally_WhenChangesAreGone() {
+        service = service(request -> {
+            if (request.method() == HttpMethod.POST) {
+                return Mono.just(json(HttpStatus.OK, JANE));
+            }
+            if (request.url().getPath().endsWith("/changes")) {
+                return Mono.just(ClientResponse.create(HttpStatus.GONE).build());
+            }
+            if (request.headers().getIfNoneMatch().contains("\"3\"")) {
+                return Mono.just(tagged(json(HttpStatus.OK, List.of(JOHN, JANE)), "\"5\""));
+            }
+            return Mono.just(tagged(json(HttpStatus.OK, List.of(JOHN)), "\"3\""));
+        });
+
+        assertThat(service.getAllEmployees()).containsExactly(JOHN);
+        service.createEmployee(new EmployeeInput("Jane Smith", 75000, 28, "Senior Developer"));
+
+        assertThat(service.getAllEmployees()).containsExactly(JOHN, JANE);
+        assertThat(requests)
+                .extracting(request -> request.url().toString())
+                .containsExactly(BASE_URL, BASE_URL, BASE_URL + "/changes?since=3", BASE_URL);
+    }
+
+    private ReactiveEmployeeServiceImpl service(
+            Function<ClientRequest, Mono<ClientResponse>> upstream, ExchangeFilterFunction... filters) {
+        var builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            return upstream.apply(request);
+        });
+        for (var filter : filters) {
+            builder.filter(filter);
+        }
+        return new ReactiveEmployeeServiceImpl(builder.build(), new UpstreamProperties(), rosterProperties);
+    }
+
+    private static ClientResponse tagged(ClientResponse response, String etag) {
+        return response.mutate().header(HttpHeaders.ETAG, etag).build();
+    }
+
+    private static ClientResponse json(HttpStatus status, Object data) {
+        try {
+            return ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(MAPPER.writeValueAsString(new ApiResponse<>(data, "Successfully processed request.")))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RosterCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final List<Runnable> scheduledRefreshes = new ArrayList<>();
+    private RuntimeException upstreamFailure;
+    private RosterCache rosterCache;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new RosterProperties();
+        properties.setTtl(Duration.ofSeconds(30));
+        properties.setRefreshAhead(Duration.ofSeconds(10));
+        properties.setMaxStaleness(Duration.ofMinutes(5));
+        rosterCache = new RosterCache(this::load, properties, clock, scheduledRefreshes::add);
+    }
+
+    private List<Employee> load() {
+        if (upstreamFailure != null) {
+            throw upstreamFailure;
+        }
+        var fetch = fetches.incrementAndGet();
+        return List.of(new Employee(String.valueOf(fetch), "Employee" + fetch, 50000, 30, "Developer", null));
+    }
+
+    @Test
+    void get_ShouldServeFromMemory_WhileSnapshotIsFresh() {
+        var first = rosterCache.get();
+        clock.advance(Duration.ofSeconds(19));
+        var second = rosterCache.get();
+
+        assertThat(second).isSameAs(first);
+        assertThat(fetches).hasValue(1);
+        assertThat(scheduledRefreshes).isEmpty();
+    }
+
+    @Test
+    void get_ShouldRefreshInBackground_InsideRefreshAheadWindow() {
+        var first = rosterCache.get();
+        clock.advance(Duration.ofSeconds(25));
+
+        assertThat(rosterCache.get()).isSameAs(first);
+        assertThat(rosterCache.get()).isSameAs(first);
+        assertThat(scheduledRefreshes).hasSize(1);
+
+        scheduledRefreshes.get(0).run();
+        assertThat(rosterCache.get().employees().get(0).getId()).isEqualTo("2");
+    }
+
+    @Test
+    void get_ShouldServeStaleSnapshot_WhenRefreshFailsWithinMaxStaleness() {
+        var first = rosterCache.get();
+        clock.advance(Duration.ofMinutes(1));
+        upstreamFailure = new RuntimeException("Failed to fetch employees");
+
+        assertThat(rosterCache.get()).isSameAs(first);
+    }
+
+    @Test
+    void get_ShouldThrow_WhenRefreshFailsBeyondMaxStaleness() {
+        rosterCache.get();
+        clock.advance(Duration.ofMinutes(6));
+        upstreamFailure = new RuntimeException("Failed to fetch employees");
+
+        assertThatThrownBy(() -> rosterCache.get()).hasMessageContaining("Failed to fetch employees");
+    }
+
+    @Test
+    void get_ShouldHonourCallerStaleness_WhenRefreshFails() {
+        rosterCache.get();
+        clock.advance(Duration.ofMinutes(1));
+        upstreamFailure = new RuntimeException("Failed to fetch employees");
+
+        assertThatThrownBy(() -> rosterCache.get(Duration.ofSeconds(45)))
+                .hasMessageContaining("Failed to fetch employees");
+        assertThat(rosterCache.get(Duration.ofMinutes(15))).isNotNull();
+    }
+
+    @Test
+    void peek_ShouldNeverFetch_AndHideSnapshotsBeyondCallerStaleness() {
+        assertThat(rosterCache.peek(Duration.ofMinutes(5))).isNull();
+        assertThat(fetches).hasValue(0);
+
+        var first = rosterCache.get();
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(rosterCache.peek(Duration.ofMinutes(5))).isSameAs(first);
+        assertThat(rosterCache.peek(Duration.ofMinutes(1))).isNull();
+        assertThat(scheduledRefreshes).hasSize(1);
+    }
+
+    @Test
+    void invalidate_ShouldForceRefreshOnNextRead() {
+        rosterCache.get();
+        rosterCache.invalidate();
+
+        assertThat(rosterCache.get().employees().get(0).getId()).isEqualTo("2");
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldRefreshOnOwnThread_UntilClosed() throws InterruptedException {
+        var properties = new RosterProperties();
+        properties.setTtl(Duration.ofMillis(50));
+        properties.setRefreshAhead(Duration.ZERO);
+        properties.setMaxStaleness(Duration.ofMinutes(5));
+        var loadingThreads = new CopyOnWriteArrayList<String>();
+        var owned = new RosterCache(
+                () -> {
+                    loadingThreads.add(Thread.currentThread().getName());
+                    return load();
+                },
+                properties);
+
+        owned.get();
+        Thread.sleep(60);
+        var stale = owned.get();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fetches.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(loadingThreads).hasSize(2).last().isEqualTo("roster-refresh");
+
+        owned.close();
+        Thread.sleep(60);
+        assertThat(owned.get()).isNotSameAs(stale).isNotNull();
+        Thread.sleep(20);
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void refresh_ShouldKeepIndexes_WhenLoaderReportsRosterUnchanged() {
+        var first = rosterCache.get();
+        var unchanged = new RosterCache(first::employees, new RosterProperties(), clock, Runnable::run);
+        var installed = unchanged.install(first.employees());
+        unchanged.invalidate();
+        clock.advance(Duration.ofSeconds(5));
+
+        var renewed = unchanged.get();
+
+        assertThat(renewed).isNotSameAs(installed);
+        assertThat(renewed.fetchedAt()).isEqualTo(clock.instant());
+        assertThat(renewed.salaryIndex()).isSameAs(installed.salaryIndex());
+        assertThat(renewed.nameIndex()).isSameAs(installed.nameIndex());
+    }
+
+    @Test
+    void bindTo_ShouldCountFreshStaleAndMissedReads() {
+        var registry = new SimpleMeterRegistry();
+        rosterCache.bindTo(registry);
+
+        rosterCache.get();
+        clock.advance(Duration.ofSeconds(5));
+        rosterCache.get();
+        clock.advance(Duration.ofMinutes(1));
+        rosterCache.get();
+
+        assertThat(reads(registry, "miss")).isEqualTo(1);
+        assertThat(reads(registry, "hit")).isEqualTo(1);
+        assertThat(reads(registry, "stale")).isEqualTo(1);
+        assertThat(registry.get("employee.roster.age").timeGauge().value(TimeUnit.SECONDS))
+                .isEqualTo(65);
+    }
+
+    private static double reads(SimpleMeterRegistry registry, String result) {
+        return registry.get("employee.roster.reads")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
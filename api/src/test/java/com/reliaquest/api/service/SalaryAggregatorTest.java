@@ -0,0 +1,62 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class SalaryAggregatorTest {
+
+    private static SalaryAggregator read(String json, int limit) throws IOException {
+        return SalaryAggregator.read(
+                new JsonFactory(), new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), limit);
+    }
+
+    @Test
+    void read_ShouldKeepHighestEarners_HighestFirstAndTiesInRosterOrder() throws IOException {
+        var aggregator = read(
+                """
+                {"data":[
+                  {"id":"1","employee_name":"John Doe","employee_salary":50000,"employee_age":30},
+                  {"id":"2","employee_name":"Jane Smith","employee_salary":75000,"employee_age":28},
+                  {"id":"3","employee_name":"Bob Johnson","employee_salary":60000,"employee_age":35},
+                  {"id":"4","employee_name":"Alice Brown","employee_salary":75000,"employee_age":41}
+                ],"status":"Successfully processed request."}
+                """,
+                3);
+
+        assertThat(aggregator.highest()).isEqualTo(75000);
+        assertThat(aggregator.topNames()).containsExactly("Jane Smith", "Alice Brown", "Bob Johnson");
+    }
+
+    @Test
+    void read_ShouldSkipEmployeesWithoutSalaryOrName_AndUnknownFields() throws IOException {
+        var aggregator = read(
+                """
+                {"status":"ok","meta":{"tags":["a",{"b":1}]},"data":[
+                  {"employee_salary":null,"employee_name":"No Salary"},
+                  {"employee_salary":90000,"employee_name":null},
+                  {"extra":{"employee_salary":99999},"employee_salary":40000,"employee_name":"Kept"}
+                ]}
+                """,
+                10);
+
+        assertThat(aggregator.highest()).isEqualTo(90000);
+        assertThat(aggregator.topNames()).containsExactly("Kept");
+    }
+
+    @Test
+    void read_ShouldAnswerZero_WhenRosterIsEmptyOrMissing() throws IOException {
+        assertThat(read("{\"data\":[]}", 10).highest()).isZero();
+        assertThat(read("{\"data\":null}", 10).topNames()).isEmpty();
+    }
+
+    @Test
+    void read_ShouldFail_OnMalformedBody() {
+        assertThatThrownBy(() -> read("{\"data\":[{\"employee_salary\":", 10)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    private static Employee employee(String name, Integer salary) {
+        return new Employee(name, name, salary, 30, "Developer", name + "@company.com");
+    }
+
+    @Test
+    void topNames_ShouldKeepRosterOrder_ForEqualSalaries() {
+        var index = SalaryIndex.build(List.of(
+                employee("Ann", 50000),
+                employee("Bob", 75000),
+                employee("Cid", 60000),
+                employee("Dee", 75000),
+                employee("Eve", 75000)));
+
+        assertThat(index.highest()).isEqualTo(75000);
+        assertThat(index.topNames(4)).containsExactly("Bob", "Dee", "Eve", "Cid");
+    }
+
+    @Test
+    void topNames_ShouldReturnEveryone_WhenFewerThanLimit() {
+        var index = SalaryIndex.build(List.of(employee("Ann", 50000), employee("Bob", 75000), employee("Cid", 60000)));
+
+        assertThat(index.topNames(10)).containsExactly("Bob", "Cid", "Ann");
+    }
+
+    @Test
+    void build_ShouldAnswerZeroAndNoNames_ForEmptyRoster() {
+        var index = SalaryIndex.build(List.of());
+
+        assertThat(index.highest()).isZero();
+        assertThat(index.topNames(10)).isEmpty();
+    }
+
+    @Test
+    void build_ShouldLeaveOutMissingSalaries_AndSkipMissingNames() {
+        var index = SalaryIndex.build(List.of(
+                employee("Ann", null), employee(null, 90000), employee("Bob", 75000), employee("Cid", null)));
+
+        assertThat(index.highest()).isEqualTo(90000);
+        assertThat(index.topNames(10)).containsExactly("Bob");
+    }
+
+    @Test
+    void build_ShouldKeepExtremeSalariesIntact_WhenPackingThemWithPositions() {
+        var index = SalaryIndex.build(List.of(
+                employee("Min", Integer.MIN_VALUE),
+                employee("Max", Integer.MAX_VALUE),
+                employee("Zero", 0),
+                employee("AlsoMax", Integer.MAX_VALUE)));
+
+        assertThat(index.highest()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(index.topNames(10)).containsExactly("Max", "AlsoMax", "Zero", "Min");
+    }
+}
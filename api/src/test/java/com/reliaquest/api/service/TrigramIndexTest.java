@@ -0,0 +1,41 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = TrigramIndex.build(Arrays.asList(
+            new Employee("1", "John Doe", 50000, 30, "Developer", "john@company.com"),
+            new Employee("2", "Johnny Smith", 60000, 25, "Designer", "johnny@company.com"),
+            new Employee("3", null, 70000, 41, "Manager", "unknown@company.com"),
+            new Employee("4", "Jane Smith", 75000, 28, "Senior Developer", "jane@company.com"),
+            new Employee("5", "Nana Nanaimo", 45000, 35, "Tester", "nana@company.com")));
+
+    @Test
+    void search_ShouldMatchSubstringsIgnoringCase_InRosterOrder() {
+        assertThat(index.search("SMITH")).extracting(Employee::getId).containsExactly("2", "4");
+        assertThat(index.search("ohn")).extracting(Employee::getId).containsExactly("1", "2");
+    }
+
+    @Test
+    void search_ShouldVerifyCandidates_WhenAllTrigramsMatchButSubstringDoesNot() {
+        // Every trigram of "nanan" occurs in "nana nanaimo", but the substring itself does not
+        assertThat(index.search("nanan")).isEmpty();
+        assertThat(index.search("nanai")).extracting(Employee::getId).containsExactly("5");
+    }
+
+    @Test
+    void search_ShouldScan_WhenQueryIsShorterThanATrigram() {
+        assertThat(index.search("j")).extracting(Employee::getId).containsExactly("1", "2", "4");
+        assertThat(index.search("th")).extracting(Employee::getId).containsExactly("2", "4");
+    }
+
+    @Test
+    void search_ShouldReturnEmpty_WhenTrigramIsUnknown() {
+        assertThat(index.search("xyz")).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeStreamReader;
+import com.reliaquest.api.service.SalaryAggregator;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decoding an upstream roster response: the full data-binding path the roster snapshot uses, the one-employee-at-a-time
+ * reader behind NDJSON streaming, and the salary-only pass behind streaming aggregation.
+ * <p>
+ * {@link #readBodyOnly} is the cost of reading the rendered body itself; subtract it to get pure decoding time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeDeserializationBenchmark {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader ROSTER = MAPPER.readerFor(new TypeReference<ApiResponse<List<Employee>>>() {})
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final EmployeeStreamReader STREAM_READER = new EmployeeStreamReader(MAPPER);
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rosterSize;
+
+    private SyntheticRoster roster;
+    private final byte[] buffer = new byte[8192];
+
+    @Setup
+    public void setUp() {
+        roster = SyntheticRoster.render(rosterSize);
+    }
+
+    @Benchmark
+    public long readBodyOnly() throws IOException {
+        var total = 0L;
+        try (var body = roster.open()) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> dataBinding() throws IOException {
+        return ROSTER.readValue(roster.open());
+    }
+
+    @Benchmark
+    public void employeeStreamReader(Blackhole blackhole) throws IOException {
+        STREAM_READER.forEach(roster.open(), blackhole::consume);
+    }
+
+    @Benchmark
+    public int salaryAggregator() throws IOException {
+        return SalaryAggregator.read(MAPPER.getFactory(), roster.open(), 10).highest();
+    }
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.config.RosterProperties;
+import com.reliaquest.api.config.UpstreamProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeServiceImpl;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Read paths of {@link EmployeeServiceImpl} against an in-process upstream.
+ * <p>
+ * The snapshot benchmarks measure queries on a warm roster snapshot, the way they are served between refreshes. The
+ * streaming benchmarks include a full pass over the upstream body on every call, as
+ * {@code employee.roster.aggregation=streaming} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+    private static final String SEARCH_STRING = "smi";
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rosterSize;
+
+    private EmployeeService snapshotService;
+    private EmployeeService streamingService;
+
+    @Setup
+    public void setUp() {
+        var roster = SyntheticRoster.render(rosterSize);
+        snapshotService = service(roster, RosterProperties.Aggregation.SNAPSHOT);
+        streamingService = service(roster, RosterProperties.Aggregation.STREAMING);
+        // Load the snapshot once so measurements see only the query
+        snapshotService.getAllEmployees();
+    }
+
+    private static EmployeeService service(SyntheticRoster roster, RosterProperties.Aggregation aggregation) {
+        var rosterProperties = new RosterProperties();
+        // Never expire during a run, so no refresh lands inside a measurement
+        rosterProperties.setTtl(Duration.ofDays(1));
+        rosterProperties.setRefreshAhead(Duration.ZERO);
+        rosterProperties.setAggregation(aggregation);
+        return new EmployeeServiceImpl(
+                new RestTemplate(new StubUpstream(roster)),
+                new UpstreamProperties(),
+                rosterProperties,
+                new SingleFlight());
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByNameSearch() {
+        return snapshotService.getEmployeesByNameSearch(SEARCH_STRING);
+    }
+
+    @Benchmark
+    public Integer getHighestSalaryOfEmployees() {
+        return snapshotService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return snapshotService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public Integer getHighestSalaryOfEmployeesStreaming() {
+        return streamingService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNamesStreaming() {
+        return streamingService.getTopTenHighestEarningEmployeeNames();
+    }
+}
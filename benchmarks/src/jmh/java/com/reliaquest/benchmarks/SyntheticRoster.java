@@ -0,0 +1,164 @@
+package com.reliaquest.benchmarks;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A deterministic upstream roster response, rendered once into memory so benchmarks measure decoding and querying
+ * rather than generating.
+ * <p>
+ * The body is kept in fixed-size blocks because a 10M-employee roster does not fit a single array.
+ */
+final class SyntheticRoster {
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda",
+        "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis",
+        "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas"
+    };
+    private static final String[] TITLES = {"Developer", "Designer", "Manager", "Tester", "Analyst", "Architect"};
+
+    private final List<byte[]> blocks;
+    private final int lastBlockLength;
+    private final long length;
+
+    private SyntheticRoster(List<byte[]> blocks, int lastBlockLength, long length) {
+        this.blocks = blocks;
+        this.lastBlockLength = lastBlockLength;
+        this.length = length;
+    }
+
+    /**
+     * @param size number of employees
+     * @return the rendered {@code {"data": [...], "status": ...}} body; identical for equal sizes
+     */
+    static SyntheticRoster render(int size) {
+        var writer = new BlockWriter();
+        writer.write("{\"data\":[");
+        var json = new StringBuilder(256);
+        for (int index = 0; index < size; index++) {
+            json.setLength(0);
+            if (index > 0) {
+                json.append(',');
+            }
+            appendEmployee(json, index);
+            writer.write(json);
+        }
+        writer.write("],\"status\":\"Successfully processed request.\"}");
+        return writer.finish();
+    }
+
+    private static void appendEmployee(StringBuilder json, int index) {
+        var hash = mix(index);
+        var first = FIRST_NAMES[(int) (hash & 15)];
+        var last = LAST_NAMES[(int) ((hash >>> 4) & 15)];
+        json.append("{\"id\":\"")
+                .append(new UUID(hash, mix(~index)))
+                .append("\",\"employee_name\":\"")
+                .append(first)
+                .append(' ')
+                .append(last)
+                .append("\",\"employee_salary\":")
+                .append(30_000 + Math.floorMod(hash >>> 8, 470_000))
+                .append(",\"employee_age\":")
+                .append(16 + Math.floorMod(hash >>> 32, 60))
+                .append(",\"employee_title\":\"")
+                .append(TITLES[Math.floorMod(hash >>> 40, TITLES.length)])
+                .append("\",\"employee_email\":\"")
+                .append(first.toLowerCase(Locale.ROOT))
+                .append('.')
+                .append(index)
+                .append("@company.com\"}");
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finaliser
+        var z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    long length() {
+        return length;
+    }
+
+    /**
+     * @return a fresh stream over the rendered body
+     */
+    InputStream open() {
+        return new InputStream() {
+            private int block;
+            private int offset;
+
+            @Override
+            public int read() {
+                if (!advance()) {
+                    return -1;
+                }
+                return blocks.get(block)[offset++] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!advance()) {
+                    return -1;
+                }
+                var count = Math.min(len, limit(block) - offset);
+                System.arraycopy(blocks.get(block), offset, buffer, off, count);
+                offset += count;
+                return count;
+            }
+
+            private boolean advance() {
+                while (offset == limit(block)) {
+                    if (block == blocks.size() - 1) {
+                        return false;
+                    }
+                    block++;
+                    offset = 0;
+                }
+                return true;
+            }
+        };
+    }
+
+    private int limit(int block) {
+        return block == blocks.size() - 1 ? lastBlockLength : BLOCK_SIZE;
+    }
+
+    private static final class BlockWriter {
+        private final List<byte[]> blocks = new ArrayList<>();
+        private byte[] current = new byte[BLOCK_SIZE];
+        private int position;
+        private long length;
+
+        void write(CharSequence text) {
+            // Synthetic content is ASCII only, so every char is one byte
+            for (int i = 0; i < text.length(); i++) {
+                if (position == BLOCK_SIZE) {
+                    blocks.add(current);
+                    current = new byte[BLOCK_SIZE];
+                    position = 0;
+                }
+                current[position++] = (byte) text.charAt(i);
+            }
+            length += text.length();
+        }
+
+        SyntheticRoster finish() {
+            blocks.add(current);
+            return new SyntheticRoster(blocks, position, length);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Upstream counters read from the api's Prometheus endpoint, so a run can report how often the api itself was
+ * throttled by the mock server.
+ *
+ * @param upstreamRequests     calls the api made to the mock server
+ * @param upstreamThrottled    429s the mock server answered
+ * @param upstreamServerErrors 5xx the mock server answered
+ */
+record ApiMetrics(double upstreamRequests, double upstreamThrottled, double upstreamServerErrors) {
+
+    /**
+     * @return the api's current counters, or {@code null} if its Prometheus endpoint cannot be read
+     */
+    static ApiMetrics scrape(HttpClient client, String apiBaseUrl) {
+        var prometheus = URI.create(apiBaseUrl).resolve("/actuator/prometheus");
+        try {
+            var response =
+                    client.send(HttpRequest.newBuilder(prometheus).build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            var body = response.body();
+            return new ApiMetrics(
+                    sum(body, "employee_upstream_requests_seconds_count"),
+                    sum(body, "employee_upstream_throttled_total"),
+                    sum(body, "employee_upstream_server_errors_total"));
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    ApiMetrics minus(ApiMetrics earlier) {
+        return new ApiMetrics(
+                upstreamRequests - earlier.upstreamRequests,
+                upstreamThrottled - earlier.upstreamThrottled,
+                upstreamServerErrors - earlier.upstreamServerErrors);
+    }
+
+    /**
+     * Adds up every series of a metric in Prometheus text format, across all tag combinations.
+     */
+    private static double sum(String exposition, String metric) {
+        var total = 0.0;
+        for (var line : exposition.split("\n")) {
+            if (line.startsWith(metric + "{") || line.startsWith(metric + " ")) {
+                total += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return total;
+    }
+}
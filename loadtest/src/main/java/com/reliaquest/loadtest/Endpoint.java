@@ -0,0 +1,32 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The api endpoints a workload can mix, named as on the command line.
+ */
+public enum Endpoint {
+    ALL("all"),
+    SEARCH("search"),
+    BY_ID("by-id"),
+    HIGHEST_SALARY("highest-salary"),
+    TOP_TEN("top-ten");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Endpoint of(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Endpoint::key).toList()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies and outcomes of the requests sent to one endpoint during the measured part of a run.
+ * <p>
+ * Latency runs from when a request was <em>scheduled</em> to start, not when it was actually sent, so a backlog of
+ * late requests shows up in the tail instead of being hidden (coordinated omission).
+ */
+final class EndpointStats {
+    private long[] latencies = new long[1024];
+    private int count;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    synchronized void record(long latencyNanos, String outcome) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        outcomes.merge(outcome, 1L, Long::sum);
+    }
+
+    synchronized Summary summarize(double seconds) {
+        var sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        var errors = outcomes.entrySet().stream()
+                .filter(outcome -> !outcome.getKey().startsWith("2"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        return new Summary(
+                count,
+                errors,
+                count / seconds,
+                millis(sorted, 0.50),
+                millis(sorted, 0.90),
+                millis(sorted, 0.99),
+                millis(sorted, 0.999),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(sorted[count - 1]) / 1000.0,
+                new TreeMap<>(outcomes));
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, rank)]) / 1000.0;
+    }
+
+    /**
+     * @param outcomes request counts by HTTP status, or by {@code timeout} / {@code io-error} for requests that got no
+     *                 response
+     */
+    record Summary(
+            long requests,
+            long errors,
+            double throughput,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            Map<String, Long> outcomes) {}
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Boots the mock server and the api, drives an open-model workload against the api and reports latency percentiles,
+ * throughput and errors per endpoint, including how often the api was throttled by the mock server.
+ * <p>
+ * Run with {@code ./gradlew loadtest:loadTest -PloadTestArgs="--rps=200 --duration=2m"}; see {@link LoadTestConfig}
+ * for every option.
+ */
+@Slf4j
+public final class LoadTest {
+    private static final Duration ID_DISCOVERY_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.parse(args);
+        Files.createDirectories(config.outputDir());
+        var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        try (var stack = config.external() != null
+                ? LocalStack.external(config.external())
+                : LocalStack.start(config, client)) {
+            var ids = discoverEmployeeIds(client, stack.apiBaseUrl());
+            log.info("Discovered {} employee ids", ids.size());
+
+            var workload = new Workload(config, client, stack.apiBaseUrl(), ids);
+            var before = new CompletableFuture<ApiMetrics>();
+            workload.run(() -> before.complete(ApiMetrics.scrape(client, stack.apiBaseUrl())));
+            var after = ApiMetrics.scrape(client, stack.apiBaseUrl());
+            // Stays empty if the run was too short for any request to be measured
+            var start = before.completeOnTimeout(null, 5, TimeUnit.SECONDS).join();
+
+            var seconds = config.duration().toNanos() / 1e9;
+            var endpoints = new EnumMap<Endpoint, EndpointStats.Summary>(Endpoint.class);
+            workload.stats().forEach((endpoint, stats) -> endpoints.put(endpoint, stats.summarize(seconds)));
+            var file = Report.write(
+                    config,
+                    endpoints,
+                    workload.total().summarize(seconds),
+                    start != null && after != null ? after.minus(start) : null);
+            log.info("Report written to {}", file);
+        }
+    }
+
+    /**
+     * Reads the roster once so by-id requests can target real employees. The mock server rate-limits, so the read is
+     * retried for a while.
+     */
+    private static List<String> discoverEmployeeIds(HttpClient client, String apiBaseUrl) throws InterruptedException {
+        var mapper = new ObjectMapper();
+        var deadline = System.nanoTime() + ID_DISCOVERY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                var response = client.send(
+                        HttpRequest.newBuilder(URI.create(apiBaseUrl)).build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    var ids = new ArrayList<String>();
+                    mapper.readTree(response.body()).forEach(employee -> ids.add(employee.path("id").asText()));
+                    return ids;
+                }
+            } catch (IOException e) {
+                log.debug("Roster read failed", e);
+            }
+            Thread.sleep(1000);
+        }
+        log.warn("Could not read the roster within {}s, by-id requests will miss", ID_DISCOVERY_TIMEOUT.toSeconds());
+        return List.of();
+    }
+}
@@ -0,0 +1,139 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Workload and environment of one load test run, read from {@code --key=value} arguments.
+ *
+ * @param rps            requests started per second, regardless of how fast earlier ones complete
+ * @param duration       how long requests are started for
+ * @param warmup         how long requests are started for before recording begins
+ * @param arrivals       spacing of request starts
+ * @param mix            relative weight of each endpoint
+ * @param searchTerms    search strings, most popular first
+ * @param zipfExponent   skew of the search string popularity; 0 picks every term equally often
+ * @param seed           seeds endpoint, id and search string choices, so runs are repeatable
+ * @param timeout        how long a request may take before it is counted as timed out
+ * @param employees      size of the mock server's roster
+ * @param serverPort     port the mock server is started on
+ * @param apiPort        port the api is started on
+ * @param apiArgs        extra Spring arguments for the api, e.g. {@code --employee.upstream.mode=reactive}
+ * @param external       target an already running api at this base URL instead of booting one
+ * @param serverJar      the mock server's boot jar
+ * @param apiJar         the api's boot jar
+ * @param outputDir      where reports and application logs are written
+ */
+public record LoadTestConfig(
+        int rps,
+        Duration duration,
+        Duration warmup,
+        Arrivals arrivals,
+        Map<Endpoint, Integer> mix,
+        List<String> searchTerms,
+        double zipfExponent,
+        long seed,
+        Duration timeout,
+        int employees,
+        int serverPort,
+        int apiPort,
+        List<String> apiArgs,
+        String external,
+        Path serverJar,
+        Path apiJar,
+        Path outputDir) {
+
+    public enum Arrivals {
+        /**
+         * Evenly spaced starts.
+         */
+        CONSTANT,
+
+        /**
+         * Exponentially distributed gaps, as independent users would produce.
+         */
+        POISSON
+    }
+
+    public static LoadTestConfig parse(String[] args) {
+        var options = new HashMap<String, String>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got '" + arg + "'");
+            }
+            var separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        var config = new LoadTestConfig(
+                Integer.parseInt(options.getOrDefault("rps", "50")),
+                duration(options.getOrDefault("duration", "60s")),
+                duration(options.getOrDefault("warmup", "10s")),
+                Arrivals.valueOf(options.getOrDefault("arrivals", "poisson").toUpperCase(Locale.ROOT)),
+                mix(options.getOrDefault("mix", "all:1,search:4,by-id:3,highest-salary:1,top-ten:1")),
+                List.of(options.getOrDefault("terms", "an,ar,er,son,lee,mar,john,smi,wil,xyz")
+                        .split(",")),
+                Double.parseDouble(options.getOrDefault("zipf", "1.0")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                duration(options.getOrDefault("timeout", "10s")),
+                Integer.parseInt(options.getOrDefault("employees", "1000")),
+                Integer.parseInt(options.getOrDefault("server-port", "18112")),
+                Integer.parseInt(options.getOrDefault("api-port", "18111")),
+                options.containsKey("api-args")
+                        ? List.of(options.get("api-args").split(","))
+                        : List.of(),
+                options.get("external"),
+                path(options, "server-jar"),
+                path(options, "api-jar"),
+                Path.of(options.getOrDefault(
+                        "output-dir", System.getProperty("loadtest.output-dir", "build/loadtest"))));
+        if (config.rps <= 0) {
+            throw new IllegalArgumentException("rps must be positive");
+        }
+        return config;
+    }
+
+    private static Path path(Map<String, String> options, String key) {
+        var value = options.getOrDefault(key, System.getProperty("loadtest." + key));
+        return value == null ? null : Path.of(value);
+    }
+
+    private static Map<Endpoint, Integer> mix(String value) {
+        var mix = new EnumMap<Endpoint, Integer>(Endpoint.class);
+        Arrays.stream(value.split(",")).map(entry -> entry.split(":")).forEach(entry -> {
+            var weight = Integer.parseInt(entry[1]);
+            if (weight > 0) {
+                mix.put(Endpoint.of(entry[0]), weight);
+            }
+        });
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix must give at least one endpoint a positive weight");
+        }
+        return mix;
+    }
+
+    /**
+     * Accepts ISO-8601 ({@code PT30S}) as well as the short {@code 500ms}, {@code 30s}, {@code 2m} forms.
+     */
+    private static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        var amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration '" + value + "'");
+        };
+    }
+}
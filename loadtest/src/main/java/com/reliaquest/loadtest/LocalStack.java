@@ -0,0 +1,134 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The mock server and the api, each running from its boot jar in a child JVM with its output captured to a log file
+ * in the output directory. Both are stopped when the stack is closed.
+ */
+@Slf4j
+final class LocalStack implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final List<Process> processes;
+    private final String apiBaseUrl;
+
+    private LocalStack(List<Process> processes, String apiBaseUrl) {
+        this.processes = processes;
+        this.apiBaseUrl = apiBaseUrl;
+    }
+
+    /**
+     * Targets an api that is already running; nothing is started or stopped.
+     */
+    static LocalStack external(String apiBaseUrl) {
+        return new LocalStack(List.of(), apiBaseUrl);
+    }
+
+    static LocalStack start(LoadTestConfig config, HttpClient client) throws IOException, InterruptedException {
+        var processes = new ArrayList<Process>();
+        var stack = new LocalStack(processes, "http://localhost:" + config.apiPort() + "/api/v1/employee");
+        try {
+            processes.add(launch(
+                    config.serverJar(),
+                    config.outputDir().resolve("server.log"),
+                    List.of(
+                            "--server.port=" + config.serverPort(),
+                            "--mock.employees.max=" + config.employees(),
+                            // The server logs every generated employee at DEBUG
+                            "--logging.level.com.reliaquest=INFO")));
+            awaitPort(config.serverPort());
+
+            var apiArgs = new ArrayList<String>();
+            apiArgs.add("--server.port=" + config.apiPort());
+            apiArgs.add("--employee.upstream.base-url=http://localhost:" + config.serverPort() + "/api/v1/employee");
+            apiArgs.addAll(config.apiArgs());
+            processes.add(launch(config.apiJar(), config.outputDir().resolve("api.log"), apiArgs));
+            awaitHealthy(client, URI.create("http://localhost:" + config.apiPort() + "/actuator/health"));
+            return stack;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    String apiBaseUrl() {
+        return apiBaseUrl;
+    }
+
+    @Override
+    public void close() {
+        for (var process : processes) {
+            process.destroy();
+        }
+        for (var process : processes) {
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Process launch(Path jar, Path logFile, List<String> args) throws IOException {
+        if (jar == null || !Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Boot jar not found: " + jar + ", run through the loadTest Gradle task");
+        }
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(args);
+        log.info("Starting {}, logging to {}", jar.getFileName(), logFile);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+    }
+
+    private static void awaitPort(int port) throws InterruptedException {
+        var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try (var socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", port), 500);
+                return;
+            } catch (IOException e) {
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("Nothing listening on port " + port + " after " + STARTUP_TIMEOUT);
+    }
+
+    private static void awaitHealthy(HttpClient client, URI health) throws InterruptedException {
+        var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                var response =
+                        client.send(HttpRequest.newBuilder(health).build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not accepting connections yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException(health + " not healthy after " + STARTUP_TIMEOUT);
+    }
+}
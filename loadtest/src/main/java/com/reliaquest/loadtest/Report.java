@@ -0,0 +1,89 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints a run's results as a table and writes them, together with the configuration that produced them, as JSON.
+ * Every run gets its own timestamped file and {@code latest.json} is overwritten, so runs can be diffed.
+ */
+final class Report {
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String ROW = "%-16s %9s %9s %9s %9s %9s %9s %9s %9s%n";
+
+    private Report() {}
+
+    static Path write(
+            LoadTestConfig config,
+            Map<Endpoint, EndpointStats.Summary> endpoints,
+            EndpointStats.Summary total,
+            ApiMetrics upstream)
+            throws IOException {
+        System.out.printf(
+                ROW, "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((endpoint, summary) -> printRow(endpoint.key(), summary));
+        printRow("total", total);
+        total.outcomes().forEach((outcome, count) -> System.out.printf("  %-14s %9d%n", outcome, count));
+        if (upstream != null) {
+            System.out.printf(
+                    "upstream: %.0f calls, %.0f throttled (429), %.0f server errors%n",
+                    upstream.upstreamRequests(), upstream.upstreamThrottled(), upstream.upstreamServerErrors());
+        }
+
+        var report = new LinkedHashMap<String, Object>();
+        report.put("config", describe(config));
+        var byEndpoint = new LinkedHashMap<String, Object>();
+        endpoints.forEach((endpoint, summary) -> byEndpoint.put(endpoint.key(), summary));
+        report.put("endpoints", byEndpoint);
+        report.put("total", total);
+        report.put("upstream", upstream);
+
+        var file = config.outputDir()
+                .resolve("report-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                        + ".json");
+        JSON.writeValue(file.toFile(), report);
+        Files.copy(file, config.outputDir().resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    private static void printRow(String name, EndpointStats.Summary summary) {
+        System.out.printf(
+                ROW,
+                name,
+                summary.requests(),
+                summary.errors(),
+                "%.1f".formatted(summary.throughput()),
+                "%.1f".formatted(summary.p50Millis()),
+                "%.1f".formatted(summary.p90Millis()),
+                "%.1f".formatted(summary.p99Millis()),
+                "%.1f".formatted(summary.p999Millis()),
+                "%.1f".formatted(summary.maxMillis()));
+    }
+
+    private static Map<String, Object> describe(LoadTestConfig config) {
+        var description = new LinkedHashMap<String, Object>();
+        description.put("rps", config.rps());
+        description.put("duration", config.duration().toString());
+        description.put("warmup", config.warmup().toString());
+        description.put("arrivals", config.arrivals());
+        var mix = new LinkedHashMap<String, Integer>();
+        config.mix().forEach((endpoint, weight) -> mix.put(endpoint.key(), weight));
+        description.put("mix", mix);
+        description.put("searchTerms", config.searchTerms());
+        description.put("zipfExponent", config.zipfExponent());
+        description.put("seed", config.seed());
+        description.put("timeout", config.timeout().toString());
+        description.put("employees", config.employees());
+        description.put("apiArgs", config.apiArgs());
+        description.put("external", config.external());
+        return description;
+    }
+}
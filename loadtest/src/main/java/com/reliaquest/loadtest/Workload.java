@@ -0,0 +1,173 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open-model workload: requests are started on a fixed schedule whether or not earlier ones have completed, the way
+ * independent users arrive. A slow api therefore builds up concurrent requests rather than slowing the load down.
+ */
+@Slf4j
+final class Workload {
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final String apiBaseUrl;
+    private final List<String> employeeIds;
+    private final SplittableRandom random;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final double[] termCumulativeWeights;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final EndpointStats total = new EndpointStats();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    Workload(LoadTestConfig config, HttpClient client, String apiBaseUrl, List<String> employeeIds) {
+        this.config = config;
+        this.client = client;
+        this.apiBaseUrl = apiBaseUrl;
+        this.employeeIds = employeeIds;
+        this.random = new SplittableRandom(config.seed());
+
+        this.endpoints = config.mix().keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        var weight = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            weight += config.mix().get(endpoints[i]);
+            cumulativeWeights[i] = weight;
+            stats.put(endpoints[i], new EndpointStats());
+        }
+
+        // Zipf: the term of rank k is picked with weight 1 / k^s
+        this.termCumulativeWeights = new double[config.searchTerms().size()];
+        var termWeight = 0.0;
+        for (int rank = 0; rank < termCumulativeWeights.length; rank++) {
+            termWeight += 1 / Math.pow(rank + 1, config.zipfExponent());
+            termCumulativeWeights[rank] = termWeight;
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured phase, then waits for outstanding requests.
+     *
+     * @param onMeasurementStart called, off the scheduling thread, when recording begins
+     */
+    void run(Runnable onMeasurementStart) throws InterruptedException {
+        var interval = TimeUnit.SECONDS.toNanos(1) / (double) config.rps();
+        var start = System.nanoTime();
+        var measureFrom = start + config.warmup().toNanos();
+        var end = measureFrom + config.duration().toNanos();
+        var measuring = false;
+
+        log.info("Warming up for {}s at {} requests/s", config.warmup().toSeconds(), config.rps());
+        var next = (double) start;
+        while (next < end) {
+            var scheduled = (long) next;
+            parkUntil(scheduled);
+            if (!measuring && scheduled >= measureFrom) {
+                measuring = true;
+                log.info("Measuring for {}s", config.duration().toSeconds());
+                new Thread(onMeasurementStart, "measurement-start").start();
+            }
+            send(pickEndpoint(), scheduled, measuring);
+            next += config.arrivals() == LoadTestConfig.Arrivals.CONSTANT
+                    ? interval
+                    : -Math.log(1 - random.nextDouble()) * interval;
+        }
+
+        var deadline = System.nanoTime() + config.timeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (pending.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    Map<Endpoint, EndpointStats> stats() {
+        return stats;
+    }
+
+    EndpointStats total() {
+        return total;
+    }
+
+    private void send(Endpoint endpoint, long scheduled, boolean measured) {
+        var request = HttpRequest.newBuilder(uri(endpoint))
+                .timeout(config.timeout())
+                .GET()
+                .build();
+        pending.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            var latency = System.nanoTime() - scheduled;
+            if (measured) {
+                var outcome = response != null ? Integer.toString(response.statusCode()) : outcome(error);
+                stats.get(endpoint).record(latency, outcome);
+                total.record(latency, outcome);
+            }
+            pending.decrementAndGet();
+        });
+    }
+
+    private URI uri(Endpoint endpoint) {
+        return URI.create(
+                switch (endpoint) {
+                    case ALL -> apiBaseUrl;
+                    case SEARCH -> apiBaseUrl + "/search/" + encode(pickSearchTerm());
+                    case BY_ID -> apiBaseUrl + "/" + pickEmployeeId();
+                    case HIGHEST_SALARY -> apiBaseUrl + "/highestSalary";
+                    case TOP_TEN -> apiBaseUrl + "/topTenHighestEarningEmployeeNames";
+                });
+    }
+
+    private Endpoint pickEndpoint() {
+        var index = Arrays.binarySearch(cumulativeWeights, random.nextInt(cumulativeWeights[endpoints.length - 1]) + 1);
+        return endpoints[index >= 0 ? index : -index - 1];
+    }
+
+    private String pickSearchTerm() {
+        var terms = config.searchTerms();
+        var index = Arrays.binarySearch(
+                termCumulativeWeights, random.nextDouble() * termCumulativeWeights[terms.size() - 1]);
+        return terms.get(Math.min(terms.size() - 1, index >= 0 ? index : -index - 1));
+    }
+
+    private String pickEmployeeId() {
+        // Without known ids every lookup is a miss, which is still a valid workload
+        return employeeIds.isEmpty()
+                ? UUID.randomUUID().toString()
+                : employeeIds.get(random.nextInt(employeeIds.size()));
+    }
+
+    private static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static String outcome(Throwable error) {
+        var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException) {
+            return "timeout";
+        }
+        return cause instanceof IOException ? "io-error" : cause.getClass().getSimpleName();
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.MockEmployeePersistence;
+import com.reliaquest.server.service.ColumnarEmployeeTable;
+import com.reliaquest.server.service.EmployeeTable;
+import com.reliaquest.server.service.HeapEmployeeTable;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -25,35 +30,92 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    @Value("${mock.rate-limit.requests:10}")
+    private int rateLimitRequests;
+
+    @Value("${mock.rate-limit.refill-period:60s}")
+    private Duration rateLimitRefillPeriod;
+
+    @Value("${mock.rate-limit.per-client:false}")
+    private boolean rateLimitPerClient;
+
+    @Value("${mock.rate-limit.max-tracked-clients:10000}")
+    private int rateLimitMaxTrackedClients;
+
+    @Autowired
+    private ObjectProvider<RandomRequestLimitInterceptor> requestLimitInterceptor;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Started with the context, once the store exists, and closed on shutdown, once every logged change is durable.
+     * The store is only looked up on start, as creating it needs the persistence first.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public MockEmployeePersistence mockEmployeePersistence(
+            @Value("${mock.persistence.directory:data}") String directory,
+            @Value("${mock.persistence.snapshot-interval:5m}") Duration snapshotInterval,
+            ObjectProvider<MockEmployeeStore> storeProvider) {
+        return new MockEmployeePersistence(Path.of(directory), snapshotInterval, storeProvider::getObject);
+    }
+
+    /*
+     * The store is modifiable by design for CRUD operations. Leave the seed unset for a different roster on every
+     * start; the seed in use is logged, so a roster can be reproduced. Columnar storage keeps large rosters off the
+     * heap. With persistence enabled, the roster of the previous run is restored instead, and only generated when
+     * there is none.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.generator-workers:0}") int generatorWorkers,
+            @Value("${mock.employees.storage:heap}") String storage,
+            @Value("${mock.changes.capacity:1024}") int changeLogCapacity,
+            ObjectProvider<MockEmployeePersistence> persistenceProvider) {
+        final EmployeeTable table =
+                switch (storage.toLowerCase(Locale.ROOT)) {
+                    case "heap" -> new HeapEmployeeTable();
+                    case "columnar" -> new ColumnarEmployeeTable();
+                    default -> throw new IllegalArgumentException("Unknown employee storage: " + storage);
+                };
+        log.info("Storing employees in a {} table", storage);
+
+        final var persistence = persistenceProvider.getIfAvailable();
+        if (persistence == null) {
+            return new MockEmployeeStore(generate(maxEmployees, seed, generatorWorkers), changeLogCapacity, table);
+        }
+        return new MockEmployeeStore(
+                persistence.recover().orElseGet(() -> generate(maxEmployees, seed, generatorWorkers)),
+                changeLogCapacity,
+                table,
+                persistence.journal());
+    }
+
+    private static List<MockEmployee> generate(int maxEmployees, Long seed, int generatorWorkers) {
+        final var generator = new MockEmployeeGenerator(
+                seed != null ? seed : RandomGenerator.getDefault().nextLong(),
+                generatorWorkers > 0 ? generatorWorkers : Runtime.getRuntime().availableProcessors(),
+                Locale.getDefault());
+        return generator.generate(maxEmployees);
+    }
+
+    /*
+     * A bean, so that it is closed on shutdown.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    @ConditionalOnProperty(name = "mock.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public RandomRequestLimitInterceptor randomRequestLimitInterceptor() {
+        return new RandomRequestLimitInterceptor(
+                rateLimitRequests, rateLimitRefillPeriod, rateLimitPerClient, rateLimitMaxTrackedClients);
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        requestLimitInterceptor.ifAvailable(registry::addInterceptor);
     }
 }
@@ -1,5 +1,9 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.BulkCreateResult;
+import com.reliaquest.server.model.BulkDeleteMockEmployeeInput;
+import com.reliaquest.server.model.BulkDeleteResult;
+import com.reliaquest.server.model.ChangeFeed;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
@@ -9,6 +13,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,6 +22,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,18 +30,93 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1_000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    @Value("${mock.employees.max-bulk-size:10000}")
+    private int maxBulkSize;
+
+    /**
+     * Answers with a strong ETag of the roster version, and with 304 Not Modified when it matches If-None-Match.
+     * Without parameters returns the whole roster. With {@code limit} and/or {@code after} returns one page of it, and
+     * a {@code next_cursor} to pass as {@code after} for the following page unless this one was the last.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after) {
+        var version = mockEmployeeService.getVersionTag();
+        if (limit == null && after == null) {
+            return ResponseEntity.ok().eTag(version).body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+        }
+        var pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("limit must be between 1 and %d".formatted(MAX_PAGE_SIZE)));
+        }
+        try {
+            var page = mockEmployeeService.getMockEmployees(after, pageSize);
+            return ResponseEntity.ok().eTag(version).body(Response.handledWith(page.employees(), page.nextCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Response<List<MockEmployee>>> searchEmployees(@RequestParam("name") String name) {
+        if (name.isBlank()) {
+            return ResponseEntity.badRequest().body(Response.error("name must not be blank"));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.searchByName(name)));
+    }
+
+    @GetMapping("/top-earners")
+    public ResponseEntity<Response<List<MockEmployee>>> getTopEarners(
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("limit must be between 1 and %d".formatted(MAX_PAGE_SIZE)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getTopEarners(limit)));
+    }
+
+    /**
+     * Answers with no data when no employee has a salary.
+     */
+    @GetMapping("/highest-salary")
+    public Response<Integer> getHighestSalary() {
+        return mockEmployeeService
+                .getHighestSalary()
+                .map(salary -> Response.handledWith(salary))
+                .orElseGet(() -> Response.handled());
+    }
+
+    /**
+     * Returns the creates and deletes made after the roster version {@code since}, a tag from the ETag of a previous
+     * response or from the {@code version} of a previous feed. Answers 410 Gone when those changes are no longer all
+     * retained, in which case the client has to reload the full roster.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<ChangeFeed>> getChanges(@RequestParam("since") String since) {
+        return mockEmployeeService
+                .getChangesSince(since)
+                .map(feed -> ResponseEntity.ok(Response.handledWith(feed)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error("Changes since version " + since
+                                + " are no longer available, reload the full roster")));
     }
 
+    /**
+     * Tagged with the roster version like {@link #getEmployees(Integer, String)}.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+        var version = mockEmployeeService.getVersionTag();
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok().eTag(version).body(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
@@ -44,8 +125,35 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /**
+     * Creates many employees in one request. Every item is validated on its own: invalid items are reported in the
+     * result at their index and do not prevent the valid ones from being created.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Response<List<BulkCreateResult>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.isEmpty() || inputs.size() > maxBulkSize) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("Between 1 and %d employees can be created at once".formatted(maxBulkSize)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.createAll(inputs)));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /**
+     * Deletes many employees by id and by name in one request, and reports which of them were found.
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Response<BulkDeleteResult>> deleteEmployees(@RequestBody BulkDeleteMockEmployeeInput input) {
+        var requested = input.getIds().size() + input.getNames().size();
+        if (requested == 0 || requested > maxBulkSize) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("Between 1 and %d employees can be deleted at once".formatted(maxBulkSize)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.deleteAll(input)));
+    }
 }
@@ -0,0 +1,22 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk create.
+ *
+ * @param index    position of the item in the request
+ * @param employee the created employee, if the item was valid
+ * @param error    why the item was rejected, otherwise {@code null}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkCreateResult(int index, MockEmployee employee, String error) {
+
+    public static BulkCreateResult created(int index, MockEmployee employee) {
+        return new BulkCreateResult(index, employee, null);
+    }
+
+    public static BulkCreateResult rejected(int index, String error) {
+        return new BulkCreateResult(index, null, error);
+    }
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class BulkDeleteMockEmployeeInput {
+
+    private List<UUID> ids;
+
+    /*
+     * Every occurrence deletes one more employee of that name, earliest added first.
+     */
+    private List<String> names;
+
+    public List<UUID> getIds() {
+        return ids == null ? List.of() : ids;
+    }
+
+    public List<String> getNames() {
+        return names == null ? List.of() : names;
+    }
+}
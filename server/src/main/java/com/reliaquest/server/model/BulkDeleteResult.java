@@ -0,0 +1,13 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk delete.
+ *
+ * @param deleted      the employees that were found and removed
+ * @param missingIds   requested ids that matched no employee
+ * @param missingNames requested names that matched no remaining employee
+ */
+public record BulkDeleteResult(List<MockEmployee> deleted, List<UUID> missingIds, List<String> missingNames) {}
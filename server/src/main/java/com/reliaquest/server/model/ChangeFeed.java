@@ -0,0 +1,11 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * The changes made to the roster after a given version.
+ *
+ * @param version the version tag reached by applying {@code changes}, to ask for the next changes with
+ * @param changes the changes, oldest first
+ */
+public record ChangeFeed(String version, List<MockEmployeeChange> changes) {}
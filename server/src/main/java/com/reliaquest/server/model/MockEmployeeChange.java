@@ -0,0 +1,16 @@
+package com.reliaquest.server.model;
+
+/**
+ * One create or delete in the roster's history.
+ *
+ * @param version  the roster version the change produced
+ * @param type     what happened to the employee
+ * @param employee the created employee, or the deleted one as it was
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary layout of employee fields shared by the write-ahead log and snapshots. Salary and age are written as ints with
+ * {@link Integer#MIN_VALUE} standing for {@code null}, which validation never lets through as a value. Strings are
+ * UTF-8, prefixed with their byte length or {@code -1} for {@code null}.
+ */
+final class EmployeeCodec {
+    static final int NULL_NUMBER = Integer.MIN_VALUE;
+    static final int NULL_STRING = -1;
+
+    private EmployeeCodec() {}
+
+    static void putId(FrameBuffer out, UUID id) {
+        out.putLong(id.getMostSignificantBits());
+        out.putLong(id.getLeastSignificantBits());
+    }
+
+    static UUID getId(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    static void putNumber(FrameBuffer out, Integer number) {
+        out.putInt(number == null ? NULL_NUMBER : number);
+    }
+
+    static Integer getNumber(ByteBuffer in) {
+        var number = in.getInt();
+        return number == NULL_NUMBER ? null : number;
+    }
+
+    static void putString(FrameBuffer out, String value) {
+        if (value == null) {
+            out.putInt(NULL_STRING);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.putBytes(bytes);
+    }
+
+    static String getString(ByteBuffer in) {
+        var length = in.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        var bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void putEmployee(FrameBuffer out, MockEmployee mockEmployee) {
+        putId(out, mockEmployee.getId());
+        putString(out, mockEmployee.getName());
+        putNumber(out, mockEmployee.getSalary());
+        putNumber(out, mockEmployee.getAge());
+        putString(out, mockEmployee.getTitle());
+        putString(out, mockEmployee.getEmail());
+    }
+
+    static MockEmployee getEmployee(ByteBuffer in) {
+        return MockEmployee.builder()
+                .id(getId(in))
+                .name(getString(in))
+                .salary(getNumber(in))
+                .age(getNumber(in))
+                .title(getString(in))
+                .email(getString(in))
+                .build();
+    }
+}
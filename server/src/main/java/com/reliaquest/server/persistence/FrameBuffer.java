@@ -0,0 +1,96 @@
+package com.reliaquest.server.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * Growable heap buffer of frames, the unit both the write-ahead log and snapshots are stored in. A frame is its payload
+ * prefixed with the payload length and its CRC32C checksum, so a reader can tell a complete frame from a torn or
+ * damaged one. Payloads are written between {@link #beginFrame()} and {@link #endFrame()}.
+ */
+final class FrameBuffer {
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final CRC32C checksum = new CRC32C();
+    private ByteBuffer buffer;
+    private int frameStart = -1;
+
+    FrameBuffer(int capacity) {
+        buffer = ByteBuffer.allocate(capacity);
+    }
+
+    void beginFrame() {
+        ensure(HEADER_BYTES);
+        frameStart = buffer.position();
+        buffer.position(frameStart + HEADER_BYTES);
+    }
+
+    void endFrame() {
+        var length = buffer.position() - frameStart - HEADER_BYTES;
+        checksum.reset();
+        checksum.update(buffer.array(), frameStart + HEADER_BYTES, length);
+        buffer.putInt(frameStart, length);
+        buffer.putInt(frameStart + Integer.BYTES, (int) checksum.getValue());
+        frameStart = -1;
+    }
+
+    /**
+     * @return the payload bytes written to the current frame so far
+     */
+    int frameSize() {
+        return buffer.position() - frameStart - HEADER_BYTES;
+    }
+
+    /**
+     * @return the bytes of all frames in the buffer
+     */
+    int size() {
+        return buffer.position();
+    }
+
+    void putByte(byte value) {
+        ensure(Byte.BYTES);
+        buffer.put(value);
+    }
+
+    void putInt(int value) {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void putBytes(byte[] value) {
+        ensure(value.length);
+        buffer.put(value);
+    }
+
+    /**
+     * Writes the complete frames in the buffer to the channel, then empties the buffer.
+     */
+    void writeTo(FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    void clear() {
+        buffer.clear();
+        frameStart = -1;
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            var grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+    }
+}
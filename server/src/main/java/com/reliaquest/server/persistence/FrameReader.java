@@ -0,0 +1,81 @@
+package com.reliaquest.server.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads back the frames written by {@link FrameBuffer}, through a large buffer refilled in bulk, checking every frame
+ * against its checksum.
+ */
+final class FrameReader {
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int MAX_FRAME_BYTES = 1 << 26;
+
+    private final FileChannel channel;
+    private final CRC32C checksum = new CRC32C();
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).flip();
+    private long validBytes;
+
+    FrameReader(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @return the payload of the next frame, valid until the next call, or {@code null} at the end of the channel or
+     *     at a frame that is incomplete or fails its checksum
+     */
+    ByteBuffer next() throws IOException {
+        if (!fill(FrameBuffer.HEADER_BYTES)) {
+            return null;
+        }
+        var start = buffer.position();
+        var length = buffer.getInt(start);
+        var expected = buffer.getInt(start + Integer.BYTES);
+        if (length < 0 || length > MAX_FRAME_BYTES || !fill(FrameBuffer.HEADER_BYTES + length)) {
+            return null;
+        }
+        start = buffer.position();
+        var payload = buffer.slice(start + FrameBuffer.HEADER_BYTES, length);
+        checksum.reset();
+        checksum.update(payload.duplicate());
+        if ((int) checksum.getValue() != expected) {
+            return null;
+        }
+        buffer.position(start + FrameBuffer.HEADER_BYTES + length);
+        validBytes += FrameBuffer.HEADER_BYTES + length;
+        return payload;
+    }
+
+    /**
+     * @return the bytes up to the end of the last frame returned by {@link #next()}
+     */
+    long validBytes() {
+        return validBytes;
+    }
+
+    /**
+     * Makes at least the given number of unread bytes available, unless the channel ends first.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        if (buffer.capacity() < bytes) {
+            var grown = ByteBuffer.allocate(Math.max(bytes, buffer.capacity() * 2));
+            grown.put(buffer);
+            buffer = grown;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+}
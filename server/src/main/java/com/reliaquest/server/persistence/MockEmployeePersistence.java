@@ -0,0 +1,270 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Keeps the mock roster across restarts, in a directory of binary snapshots and write-ahead log segments.
+ * <p>
+ * Every change is appended to the {@link WriteAheadLog} and acknowledged once it is durable. Snapshots of the whole
+ * roster are written on startup, periodically on a background thread and on shutdown; once a snapshot is in place, the
+ * snapshots and log segments it supersedes are deleted. On startup the roster is restored from the latest snapshot
+ * and the changes logged after it.
+ * <p>
+ * Use it in this order: {@link #recover()}, create the store with {@link #journal()}, then {@link #start()}. As a
+ * Spring bean it is started and stopped with the application context, in a phase before the web server's, so the
+ * first snapshot is written before requests are served and the last one after they have stopped.
+ */
+@Slf4j
+public class MockEmployeePersistence implements SmartLifecycle, Closeable {
+    private final Path directory;
+    private final Duration snapshotInterval;
+    private final Supplier<MockEmployeeStore> storeSupplier;
+    private WriteAheadLog writeAheadLog;
+    private ScheduledExecutorService scheduler;
+    private MockEmployeeStore store;
+    private long snapshotPosition = -1;
+
+    /**
+     * @param directory        where snapshots and log segments are kept, created if missing
+     * @param snapshotInterval time between snapshots, each only written if the roster changed since the last one
+     * @param storeSupplier    the store created with {@link #journal()}, only asked for on {@link #start()}
+     */
+    public MockEmployeePersistence(
+            Path directory, Duration snapshotInterval, Supplier<MockEmployeeStore> storeSupplier) {
+        if (snapshotInterval.isNegative() || snapshotInterval.isZero()) {
+            throw new IllegalArgumentException("snapshotInterval must be positive");
+        }
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.storeSupplier = storeSupplier;
+    }
+
+    /**
+     * Restores the roster persisted by an earlier run and opens the write-ahead log for this one.
+     *
+     * @return the restored employees in roster order, or empty if there is no snapshot to restore from
+     * @throws UncheckedIOException if the persisted roster cannot be read or is damaged
+     */
+    public Optional<List<MockEmployee>> recover() {
+        try {
+            Files.createDirectories(directory);
+            deleteTemporaryFiles();
+            var snapshots = PersistenceFiles.snapshots(directory);
+            if (snapshots.isEmpty()) {
+                // Only a crash before the first snapshot leaves segments behind, before any change was acknowledged
+                for (var segment : PersistenceFiles.segments(directory).values()) {
+                    Files.delete(segment);
+                }
+                writeAheadLog = new WriteAheadLog(directory, 0);
+                return Optional.empty();
+            }
+
+            var start = System.nanoTime();
+            var snapshot = SnapshotFile.read(snapshots.lastEntry().getValue());
+            var roster = new ReplayedRoster(snapshot.employees());
+            var position = WriteAheadLog.replay(directory, snapshot.position(), roster::created, roster::deleted);
+            var employees = roster.employees();
+            log.info(
+                    "Recovered {} employees from a snapshot and {} logged changes in {}ms",
+                    employees.size(),
+                    position - snapshot.position(),
+                    (System.nanoTime() - start) / 1_000_000);
+
+            snapshotPosition = snapshot.position();
+            writeAheadLog = new WriteAheadLog(directory, position);
+            return Optional.of(employees);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the roster from " + directory, e);
+        }
+    }
+
+    /**
+     * @return the write-ahead log to create the store with
+     */
+    public MockEmployeeStore.Journal journal() {
+        if (writeAheadLog == null) {
+            throw new IllegalStateException("recover() must be called first");
+        }
+        return writeAheadLog;
+    }
+
+    /**
+     * Writes a snapshot of the store unless the latest one is current, then schedules the periodic snapshots.
+     */
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        // Fails unless the roster was recovered, which the store has to be created from
+        journal();
+        store = storeSupplier.get();
+        try {
+            snapshot();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write a snapshot to " + directory, e);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "roster-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic snapshots and writes a last one, so the next start has no log to replay.
+     */
+    @Override
+    public void stop() {
+        ScheduledExecutorService stopping;
+        synchronized (this) {
+            stopping = scheduler;
+            scheduler = null;
+        }
+        if (stopping == null) {
+            return;
+        }
+        stopping.shutdown();
+        try {
+            stopping.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduledSnapshot();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Runs before the web server, whose lifecycle is in one of the last phases: started ahead of it, stopped after.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Stops if still running, then closes the write-ahead log once every change is durable.
+     */
+    @Override
+    public void close() throws IOException {
+        stop();
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // Changes stay in the log, so the next snapshot catches up
+            log.warn("Could not write a snapshot to {}", directory, e);
+        }
+    }
+
+    private synchronized void snapshot() throws IOException {
+        var checkpoint = store.checkpoint();
+        if (checkpoint.position() == snapshotPosition) {
+            return;
+        }
+        // Changes after the checkpoint go to a new segment, so the current ones can go once the snapshot is in place
+        writeAheadLog.roll();
+        var start = System.nanoTime();
+        SnapshotFile.write(directory, checkpoint.employees(), checkpoint.position());
+        snapshotPosition = checkpoint.position();
+        log.info(
+                "Wrote a snapshot of {} employees at log position {} in {}ms",
+                checkpoint.employees().size(),
+                checkpoint.position(),
+                (System.nanoTime() - start) / 1_000_000);
+        deleteSuperseded(checkpoint.position());
+    }
+
+    /**
+     * Deletes older snapshots, and every segment followed by one that starts no later than the change after the
+     * snapshot, as the snapshot then covers all of its changes.
+     */
+    private void deleteSuperseded(long position) throws IOException {
+        for (var snapshot : PersistenceFiles.snapshots(directory).headMap(position).values()) {
+            Files.delete(snapshot);
+        }
+        var segments = PersistenceFiles.segments(directory);
+        for (var entry : segments.entrySet()) {
+            var next = segments.higherKey(entry.getKey());
+            if (next == null || next > position + 1) {
+                break;
+            }
+            Files.delete(entry.getValue());
+        }
+        PersistenceFiles.syncDirectory(directory);
+    }
+
+    private void deleteTemporaryFiles() throws IOException {
+        try (var paths = Files.list(directory)) {
+            for (var path : paths.toList()) {
+                if (path.getFileName().toString().endsWith(PersistenceFiles.TEMPORARY_SUFFIX)) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * A snapshot with the logged changes applied. It is only indexed by id once there is a change to apply, which
+     * spares that work in the common case of a snapshot written at shutdown or shortly before.
+     */
+    private static final class ReplayedRoster {
+        private final List<MockEmployee> snapshot;
+        private LinkedHashMap<UUID, MockEmployee> byId;
+
+        ReplayedRoster(List<MockEmployee> snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        void created(MockEmployee mockEmployee) {
+            // Like the store, a re-created id moves to the end of the roster
+            byId().remove(mockEmployee.getId());
+            byId().put(mockEmployee.getId(), mockEmployee);
+        }
+
+        void deleted(UUID id) {
+            byId().remove(id);
+        }
+
+        List<MockEmployee> employees() {
+            return byId == null ? snapshot : new ArrayList<>(byId.values());
+        }
+
+        private LinkedHashMap<UUID, MockEmployee> byId() {
+            if (byId == null) {
+                byId = new LinkedHashMap<>(snapshot.size() * 4 / 3 + 1);
+                snapshot.forEach(mockEmployee -> byId.put(mockEmployee.getId(), mockEmployee));
+            }
+            return byId;
+        }
+    }
+}
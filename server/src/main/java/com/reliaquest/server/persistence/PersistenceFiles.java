@@ -0,0 +1,63 @@
+package com.reliaquest.server.persistence;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Layout of the persistence directory. Snapshots and write-ahead log segments are named after a log position, zero
+ * padded so that names sort like positions: a snapshot after the position of the last change it holds, a segment
+ * after the position of the first change it may hold.
+ */
+final class PersistenceFiles {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private PersistenceFiles() {}
+
+    static Path snapshot(Path directory, long position) {
+        return directory.resolve(SNAPSHOT_PREFIX + "%020d".formatted(position) + SNAPSHOT_SUFFIX);
+    }
+
+    static Path segment(Path directory, long firstPosition) {
+        return directory.resolve(SEGMENT_PREFIX + "%020d".formatted(firstPosition) + SEGMENT_SUFFIX);
+    }
+
+    static NavigableMap<Long, Path> snapshots(Path directory) throws IOException {
+        return list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    }
+
+    static NavigableMap<Long, Path> segments(Path directory) throws IOException {
+        return list(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Makes the creation, renaming and deletion of files in the directory durable.
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static NavigableMap<Long, Path> list(Path directory, String prefix, String suffix) throws IOException {
+        var files = new TreeMap<Long, Path>();
+        try (var paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                var name = path.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                    var position = name.substring(prefix.length(), name.length() - suffix.length());
+                    files.put(Long.parseLong(position), path);
+                }
+            });
+        }
+        return files;
+    }
+}
@@ -0,0 +1,145 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary image of the whole roster at a write-ahead log position.
+ * <p>
+ * A header frame holds a magic number, the position and the number of employees; the employees follow in roster order,
+ * packed into frames of about a megabyte. Strings are dictionary encoded: the first occurrence of a string takes the
+ * next code and carries its bytes, every later one only the code. Names, job titles and emails repeat a lot, so this
+ * keeps snapshots small, and a restored roster shares one {@link String} per distinct value.
+ * <p>
+ * Snapshots are written to a temporary file, forced to disk and then renamed into place, so a snapshot under its final
+ * name is always complete.
+ */
+final class SnapshotFile {
+    private static final int MAGIC = 0x4D455331;
+    private static final int FRAME_BYTES = 1 << 20;
+
+    private SnapshotFile() {}
+
+    /**
+     * @param employees the roster, in order
+     * @param position  the log position of the latest change the roster holds
+     */
+    static Path write(Path directory, Collection<MockEmployee> employees, long position) throws IOException {
+        var target = PersistenceFiles.snapshot(directory, position);
+        var temporary = target.resolveSibling(target.getFileName() + PersistenceFiles.TEMPORARY_SUFFIX);
+        try (var channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            var out = new FrameBuffer(FRAME_BYTES + (FRAME_BYTES >> 2));
+            out.beginFrame();
+            out.putInt(MAGIC);
+            out.putLong(position);
+            out.putInt(employees.size());
+            out.endFrame();
+
+            var codes = new HashMap<String, Integer>();
+            out.beginFrame();
+            for (var mockEmployee : employees) {
+                if (out.frameSize() >= FRAME_BYTES) {
+                    out.endFrame();
+                    out.writeTo(channel);
+                    out.beginFrame();
+                }
+                EmployeeCodec.putId(out, mockEmployee.getId());
+                putString(out, codes, mockEmployee.getName());
+                EmployeeCodec.putNumber(out, mockEmployee.getSalary());
+                EmployeeCodec.putNumber(out, mockEmployee.getAge());
+                putString(out, codes, mockEmployee.getTitle());
+                putString(out, codes, mockEmployee.getEmail());
+            }
+            out.endFrame();
+            out.writeTo(channel);
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        PersistenceFiles.syncDirectory(directory);
+        return target;
+    }
+
+    /**
+     * @throws IOException if the file is not a complete snapshot
+     */
+    static Snapshot read(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var in = new FrameReader(channel);
+            var header = in.next();
+            if (header == null || header.remaining() != 2 * Integer.BYTES + Long.BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not a roster snapshot: " + file);
+            }
+            var position = header.getLong();
+            var count = header.getInt();
+
+            var employees = new ArrayList<MockEmployee>(count);
+            var strings = new ArrayList<String>();
+            while (employees.size() < count) {
+                var frame = in.next();
+                if (frame == null) {
+                    throw new IOException("Snapshot " + file + " is damaged after " + employees.size() + " employees");
+                }
+                while (frame.hasRemaining()) {
+                    employees.add(MockEmployee.builder()
+                            .id(EmployeeCodec.getId(frame))
+                            .name(getString(frame, strings))
+                            .salary(EmployeeCodec.getNumber(frame))
+                            .age(EmployeeCodec.getNumber(frame))
+                            .title(getString(frame, strings))
+                            .email(getString(frame, strings))
+                            .build());
+                }
+            }
+            return new Snapshot(position, employees);
+        }
+    }
+
+    private static void putString(FrameBuffer out, Map<String, Integer> codes, String value) {
+        if (value == null) {
+            out.putInt(EmployeeCodec.NULL_STRING);
+            return;
+        }
+        var code = codes.get(value);
+        if (code != null) {
+            out.putInt(code);
+            return;
+        }
+        out.putInt(codes.size());
+        EmployeeCodec.putString(out, value);
+        codes.put(value, codes.size());
+    }
+
+    private static String getString(ByteBuffer in, List<String> strings) throws IOException {
+        var code = in.getInt();
+        if (code == EmployeeCodec.NULL_STRING) {
+            return null;
+        }
+        if (code == strings.size()) {
+            strings.add(EmployeeCodec.getString(in));
+        } else if (code < 0 || code > strings.size()) {
+            throw new IOException("Snapshot refers to unknown string " + code);
+        }
+        return strings.get(code);
+    }
+
+    /**
+     * @param position  the log position of the latest change the roster holds
+     * @param employees the roster, in order
+     */
+    record Snapshot(long position, List<MockEmployee> employees) {}
+}
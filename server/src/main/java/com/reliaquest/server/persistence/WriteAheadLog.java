@@ -0,0 +1,280 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of roster changes, made durable with group commit.
+ * <p>
+ * Changes are framed into an in-memory buffer under the store's write lock, each getting the next log position. A
+ * single flusher thread swaps that buffer for an empty one, writes it out and forces it to disk, then wakes every
+ * caller waiting for a change it covered. Changes appended while one batch is being forced go out together with the
+ * next, so under load a single fsync makes many changes durable at once.
+ * <p>
+ * The log is split in segments, each named after the position of its first change. {@link #roll()} starts a new
+ * segment with the next batch, so that segments covered by a snapshot can be deleted whole.
+ */
+@Slf4j
+public class WriteAheadLog implements MockEmployeeStore.Journal, Closeable {
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition work = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private FrameBuffer pending = new FrameBuffer(BUFFER_BYTES);
+    private FrameBuffer writing = new FrameBuffer(BUFFER_BYTES);
+    private long position;
+    private long durablePosition;
+    private boolean rollRequested;
+    private boolean closed;
+    // Changes up to here are written before the flusher exits, later ones are never written
+    private long closedPosition = Long.MAX_VALUE;
+    private IOException failure;
+    // Only touched by the flusher
+    private FileChannel segment;
+    private boolean segmentEmpty;
+    private final Thread flusher;
+
+    /**
+     * Opens a new segment for the changes after the given position.
+     *
+     * @param position the position of the latest change already persisted
+     */
+    public WriteAheadLog(Path directory, long position) throws IOException {
+        this.directory = directory;
+        this.position = position;
+        this.durablePosition = position;
+        openSegment(position + 1);
+        flusher = new Thread(this::flushLoop, "write-ahead-log");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public long append(MockEmployeeChange.Type type, MockEmployee mockEmployee) {
+        lock.lock();
+        try {
+            position++;
+            if (failure != null || closed) {
+                // Nothing is written any more, so buffering would only leak memory; waiting for it fails instead
+                return position;
+            }
+            pending.beginFrame();
+            pending.putLong(position);
+            if (type == MockEmployeeChange.Type.CREATED) {
+                pending.putByte(CREATED);
+                EmployeeCodec.putEmployee(pending, mockEmployee);
+            } else {
+                pending.putByte(DELETED);
+                EmployeeCodec.putId(pending, mockEmployee.getId());
+            }
+            pending.endFrame();
+            work.signal();
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long position() {
+        lock.lock();
+        try {
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws UncheckedIOException  if the log failed before the change was durable
+     * @throws IllegalStateException if the change was appended after the log was closed, so it is never written
+     */
+    @Override
+    public void awaitDurable(long position) {
+        lock.lock();
+        try {
+            while (durablePosition < position) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Could not write to the write-ahead log", failure);
+                }
+                if (position > closedPosition) {
+                    throw new IllegalStateException("Change " + position + " was appended after the log was closed");
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Has the flusher start a new segment after the changes appended so far.
+     */
+    public void roll() {
+        lock.lock();
+        try {
+            rollRequested = true;
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes every appended change durable, then closes the log. Changes appended later are not written, and waiting
+     * for them fails.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closedPosition = position;
+            work.signal();
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.close();
+    }
+
+    /**
+     * Replays the logged changes after the given position, segment by segment in position order.
+     * <p>
+     * A crash in the middle of a write leaves an incomplete frame at the end of the last segment. That frame is cut
+     * off, so the log can be appended to again, and the replay ends before it. A bad frame anywhere else, or a gap in
+     * the positions, means the log is damaged.
+     *
+     * @param after   the position of the latest change already restored, typically by a snapshot
+     * @param created receives created employees, in order
+     * @param deleted receives the ids of deleted employees, in order
+     * @return the position of the last replayed change, or {@code after} if there were none
+     * @throws IOException if the log cannot be read or is damaged
+     */
+    static long replay(Path directory, long after, Consumer<MockEmployee> created, Consumer<UUID> deleted)
+            throws IOException {
+        var last = after;
+        var segments = PersistenceFiles.segments(directory);
+        for (var entry : segments.entrySet()) {
+            var file = entry.getValue();
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                var in = new FrameReader(channel);
+                for (var frame = in.next(); frame != null; frame = in.next()) {
+                    var position = frame.getLong();
+                    if (position <= after) {
+                        continue;
+                    }
+                    if (position != last + 1) {
+                        throw new IOException("Write-ahead log skips from position " + last + " to " + position);
+                    }
+                    if (frame.get() == CREATED) {
+                        created.accept(EmployeeCodec.getEmployee(frame));
+                    } else {
+                        deleted.accept(EmployeeCodec.getId(frame));
+                    }
+                    last = position;
+                }
+                if (in.validBytes() < channel.size()) {
+                    if (!entry.getKey().equals(segments.lastKey())) {
+                        throw new IOException("Write-ahead log segment " + file + " is damaged");
+                    }
+                    log.warn(
+                            "Cutting off {} bytes of an incomplete write at the end of {}",
+                            channel.size() - in.validBytes(),
+                            file);
+                    channel.truncate(in.validBytes());
+                    channel.force(true);
+                }
+            }
+        }
+        return last;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            boolean roll;
+            lock.lock();
+            try {
+                while (pending.size() == 0 && !rollRequested && !closed) {
+                    work.awaitUninterruptibly();
+                }
+                if (pending.size() == 0 && !rollRequested) {
+                    return;
+                }
+                var batch = pending;
+                pending = writing;
+                writing = batch;
+                target = position;
+                roll = rollRequested;
+                rollRequested = false;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (writing.size() > 0) {
+                    writing.writeTo(segment);
+                    segment.force(false);
+                    segmentEmpty = false;
+                }
+                if (roll && !segmentEmpty) {
+                    segment.close();
+                    openSegment(target + 1);
+                }
+            } catch (IOException e) {
+                log.error("Write-ahead log failed, changes are no longer persisted", e);
+                lock.lock();
+                try {
+                    failure = e;
+                    flushed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                durablePosition = target;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void openSegment(long firstPosition) throws IOException {
+        segment = FileChannel.open(
+                PersistenceFiles.segment(directory, firstPosition),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        segmentEmpty = true;
+        PersistenceFiles.syncDirectory(directory);
+    }
+}
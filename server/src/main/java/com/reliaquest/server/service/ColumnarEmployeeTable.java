@@ -0,0 +1,220 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Keeps employees column by column in off-heap buffers, for rosters of millions that should not burden the garbage
+ * collector with millions of objects.
+ * <p>
+ * Rows are grouped in chunks of {@value #CHUNK_ROWS}, each holding one direct buffer per column: the id as two
+ * {@code long} columns, salary and age as {@code int} columns, and name, title and email as {@code int} codes into a
+ * shared {@link Utf8Dictionary}. Which rows are live is tracked in an on-heap bitmap. {@link MockEmployee}s are only
+ * built when a row is read, and the full roster is handed out as a lazy view that builds them one at a time while it
+ * is serialized.
+ * <p>
+ * Chunks are never moved or rewritten and a row is never written again once appended, so a view only needs to copy
+ * the bitmap and can then read the rows it covers while later rows are being appended. Direct buffers count against
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ */
+public class ColumnarEmployeeTable implements EmployeeTable {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_ROWS = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+    private static final int MAX_ROWS = Integer.MAX_VALUE - CHUNK_ROWS;
+    private static final int NULL_NUMBER = Integer.MIN_VALUE;
+    private static final int NULL_STRING = -1;
+
+    private Chunk[] chunks = new Chunk[0];
+    private long[] live = new long[0];
+    private final Utf8Dictionary strings = new Utf8Dictionary();
+    private int length;
+    private int size;
+
+    @Override
+    public int append(MockEmployee mockEmployee) {
+        if (length == MAX_ROWS) {
+            throw new IllegalStateException("Employee table is full");
+        }
+        var row = length;
+        if ((row & CHUNK_MASK) == 0) {
+            // Grown by copying, so views keep reading the chunks they captured
+            chunks = Arrays.copyOf(chunks, chunks.length + 1);
+            chunks[chunks.length - 1] = new Chunk();
+            live = Arrays.copyOf(live, chunks.length * (CHUNK_ROWS / Long.SIZE));
+        }
+        var chunk = chunks[row >>> CHUNK_BITS];
+        var at = row & CHUNK_MASK;
+        chunk.idHigh.put(at, mockEmployee.getId().getMostSignificantBits());
+        chunk.idLow.put(at, mockEmployee.getId().getLeastSignificantBits());
+        chunk.salary.put(at, encode(mockEmployee.getSalary()));
+        chunk.age.put(at, encode(mockEmployee.getAge()));
+        chunk.name.put(at, encode(mockEmployee.getName()));
+        chunk.title.put(at, encode(mockEmployee.getTitle()));
+        chunk.email.put(at, encode(mockEmployee.getEmail()));
+        live[row >>> 6] |= 1L << row;
+        length++;
+        size++;
+        return row + 1;
+    }
+
+    @Override
+    public void remove(int sequence) {
+        var row = sequence - 1;
+        live[row >>> 6] &= ~(1L << row);
+        size--;
+    }
+
+    @Override
+    public MockEmployee get(int sequence) {
+        return materialize(chunks, strings.snapshot(), sequence - 1);
+    }
+
+    @Override
+    public String name(int sequence) {
+        var row = sequence - 1;
+        var code = chunks[row >>> CHUNK_BITS].name.get(row & CHUNK_MASK);
+        return code == NULL_STRING ? null : strings.decode(code);
+    }
+
+    @Override
+    public int next(int after) {
+        var row = LiveRows.next(live, length, after);
+        return row < 0 ? 0 : row + 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<MockEmployee> snapshot() {
+        return new View(chunks, Arrays.copyOf(live, live.length), length, size, strings.snapshot());
+    }
+
+    private int encode(Integer number) {
+        return number == null ? NULL_NUMBER : number;
+    }
+
+    private int encode(String value) {
+        return value == null ? NULL_STRING : strings.encode(value);
+    }
+
+    private static MockEmployee materialize(Chunk[] chunks, Utf8Dictionary.Snapshot strings, int row) {
+        var chunk = chunks[row >>> CHUNK_BITS];
+        var at = row & CHUNK_MASK;
+        return MockEmployee.builder()
+                .id(new UUID(chunk.idHigh.get(at), chunk.idLow.get(at)))
+                .name(decode(strings, chunk.name.get(at)))
+                .salary(decode(chunk.salary.get(at)))
+                .age(decode(chunk.age.get(at)))
+                .title(decode(strings, chunk.title.get(at)))
+                .email(decode(strings, chunk.email.get(at)))
+                .build();
+    }
+
+    private static Integer decode(int number) {
+        return number == NULL_NUMBER ? null : number;
+    }
+
+    private static String decode(Utf8Dictionary.Snapshot strings, int code) {
+        return code == NULL_STRING ? null : strings.decode(code);
+    }
+
+    private static final class Chunk {
+        private final LongBuffer idHigh = allocate(Long.BYTES).asLongBuffer();
+        private final LongBuffer idLow = allocate(Long.BYTES).asLongBuffer();
+        private final IntBuffer salary = allocate(Integer.BYTES).asIntBuffer();
+        private final IntBuffer age = allocate(Integer.BYTES).asIntBuffer();
+        private final IntBuffer name = allocate(Integer.BYTES).asIntBuffer();
+        private final IntBuffer title = allocate(Integer.BYTES).asIntBuffer();
+        private final IntBuffer email = allocate(Integer.BYTES).asIntBuffer();
+
+        private static ByteBuffer allocate(int width) {
+            return ByteBuffer.allocateDirect(CHUNK_ROWS * width).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * The live rows at the time it was taken. Iterating builds one employee per step, so serializing the view never
+     * holds more than one of them.
+     * <p>
+     * Iteration walks the bitmap. Positional access goes through the rows of all live positions, collected on first
+     * use, so that {@link #get(int)} is constant time for callers that index into the roster.
+     */
+    private static final class View extends AbstractList<MockEmployee> {
+        private final Chunk[] chunks;
+        private final long[] live;
+        private final int length;
+        private final int size;
+        private final Utf8Dictionary.Snapshot strings;
+        // Views are shared between threads; racing readers may each build it, but only ever see it complete
+        private volatile int[] rows;
+
+        View(Chunk[] chunks, long[] live, int length, int size, Utf8Dictionary.Snapshot strings) {
+            this.chunks = chunks;
+            this.live = live;
+            this.length = length;
+            this.size = size;
+            this.strings = strings;
+        }
+
+        @Override
+        public MockEmployee get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return materialize(chunks, strings, rows()[index]);
+        }
+
+        @Override
+        public Iterator<MockEmployee> iterator() {
+            return new Iterator<>() {
+                private int next = LiveRows.next(live, length, 0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public MockEmployee next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    var employee = materialize(chunks, strings, next);
+                    next = LiveRows.next(live, length, next + 1);
+                    return employee;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private int[] rows() {
+            var built = rows;
+            if (built == null) {
+                built = new int[size];
+                var at = 0;
+                for (int row = LiveRows.next(live, length, 0); row >= 0; row = LiveRows.next(live, length, row + 1)) {
+                    built[at++] = row;
+                }
+                rows = built;
+            }
+            return built;
+        }
+    }
+}
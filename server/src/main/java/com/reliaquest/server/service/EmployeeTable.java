@@ -0,0 +1,53 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * Row storage behind {@link MockEmployeeStore}.
+ * <p>
+ * Rows are addressed by sequence: the first appended row gets 1, every later row one more than the previous, and a
+ * removed row keeps its sequence as a gap that is never reused. Tables are not thread-safe, the store guards them with
+ * its lock; only the views returned by {@link #snapshot()} may be read without it.
+ */
+public interface EmployeeTable {
+
+    /**
+     * @return the sequence of the new row
+     * @throws IllegalStateException if the table has run out of sequences
+     */
+    int append(MockEmployee mockEmployee);
+
+    /**
+     * @param sequence the sequence of a live row
+     */
+    void remove(int sequence);
+
+    /**
+     * @param sequence the sequence of a live row
+     * @return the employee in the row
+     */
+    MockEmployee get(int sequence);
+
+    /**
+     * Reads only the name of a row, without building the whole employee.
+     *
+     * @param sequence the sequence of a live row
+     */
+    String name(int sequence);
+
+    /**
+     * @return the sequence of the first live row after the given one, or {@code 0} if there is none
+     */
+    int next(int after);
+
+    /**
+     * @return the number of live rows
+     */
+    int size();
+
+    /**
+     * @return the live rows in sequence order, unaffected by later changes and safe to read without the store's lock
+     */
+    List<MockEmployee> snapshot();
+}
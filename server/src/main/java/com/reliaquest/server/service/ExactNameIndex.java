@@ -0,0 +1,170 @@
+package com.reliaquest.server.service;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Index from case-folded names to the sequences of the employees carrying them, in ascending order, so the earliest
+ * added employee with a given name is found without a search. Like {@link IdIndex} it is kept in primitive arrays.
+ * <p>
+ * An open-addressing table maps a 64-bit hash of the folded name to the first and last sequence of a chain, and the
+ * chains are doubly linked through two arrays indexed by sequence, so adding appends to a chain and removing unlinks
+ * from it, both in constant time. Names whose hashes collide share a chain, which lookups tell apart by comparing the
+ * names themselves. Not thread-safe: {@link MockEmployeeStore} guards it with its lock.
+ */
+final class ExactNameIndex {
+    private static final int EMPTY = 0;
+    private static final int REMOVED = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] hashes;
+    // Sequences start at 1, which leaves 0 and -1 to mark empty and removed slots, and 0 to end a chain
+    private int[] firsts;
+    private int[] lasts;
+    private int size;
+    private int occupied;
+    private int[] next = new int[MIN_CAPACITY];
+    private int[] previous = new int[MIN_CAPACITY];
+
+    ExactNameIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @param sequence a sequence larger than any added before
+     */
+    void add(int sequence, String name) {
+        if (sequence >= next.length) {
+            var length = Math.max(sequence + 1, next.length * 2);
+            next = Arrays.copyOf(next, length);
+            previous = Arrays.copyOf(previous, length);
+        }
+        var hash = hash(NameIndex.fold(name));
+        var at = find(hash);
+        if (at < 0) {
+            if ((occupied + 1) * 2 > firsts.length) {
+                rebuild();
+            }
+            insert(hash, sequence, sequence);
+            return;
+        }
+        next[lasts[at]] = sequence;
+        previous[sequence] = lasts[at];
+        lasts[at] = sequence;
+    }
+
+    /**
+     * @param name the name the sequence was added with
+     */
+    void remove(int sequence, String name) {
+        var at = find(hash(NameIndex.fold(name)));
+        if (at < 0) {
+            return;
+        }
+        var before = previous[sequence];
+        var after = next[sequence];
+        if (before == 0) {
+            firsts[at] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after == 0) {
+            lasts[at] = before;
+        } else {
+            previous[after] = before;
+        }
+        next[sequence] = 0;
+        previous[sequence] = 0;
+        if (firsts[at] == 0) {
+            firsts[at] = REMOVED;
+            size--;
+        }
+    }
+
+    /**
+     * @param nameLookup resolves a sequence to its name
+     * @return the smallest sequence whose name matches, ignoring case, or {@code 0} if none
+     */
+    int first(String name, IntFunction<String> nameLookup) {
+        var folded = NameIndex.fold(name);
+        var at = find(hash(folded));
+        if (at < 0) {
+            return 0;
+        }
+        for (var sequence = firsts[at]; sequence != 0; sequence = next[sequence]) {
+            if (NameIndex.fold(nameLookup.apply(sequence)).equals(folded)) {
+                return sequence;
+            }
+        }
+        return 0;
+    }
+
+    private int find(long hash) {
+        var mask = firsts.length - 1;
+        for (int at = spread(hash) & mask; ; at = (at + 1) & mask) {
+            var first = firsts[at];
+            if (first == EMPTY) {
+                return -1;
+            }
+            if (first != REMOVED && hashes[at] == hash) {
+                return at;
+            }
+        }
+    }
+
+    private void insert(long hash, int first, int last) {
+        var mask = firsts.length - 1;
+        var at = spread(hash) & mask;
+        while (firsts[at] != EMPTY && firsts[at] != REMOVED) {
+            at = (at + 1) & mask;
+        }
+        if (firsts[at] == EMPTY) {
+            occupied++;
+        }
+        hashes[at] = hash;
+        firsts[at] = first;
+        lasts[at] = last;
+        size++;
+    }
+
+    /**
+     * Rehashes the live chains into a table a quarter full at most, dropping the removed slots.
+     */
+    private void rebuild() {
+        var oldHashes = hashes;
+        var oldFirsts = firsts;
+        var oldLasts = lasts;
+        var capacity = MIN_CAPACITY;
+        while (capacity < (size + 1) * 4) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        for (int at = 0; at < oldFirsts.length; at++) {
+            if (oldFirsts[at] != EMPTY && oldFirsts[at] != REMOVED) {
+                insert(oldHashes[at], oldFirsts[at], oldLasts[at]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        firsts = new int[capacity];
+        lasts = new int[capacity];
+        size = 0;
+        occupied = 0;
+    }
+
+    private static long hash(String folded) {
+        var h = 0xCBF29CE484222325L;
+        for (int i = 0; i < folded.length(); i++) {
+            h = (h ^ folded.charAt(i)) * 0x100000001B3L;
+        }
+        return h;
+    }
+
+    private static int spread(long hash) {
+        var h = hash ^ (hash >>> 32);
+        h *= 0xD6E8FEB86659FD93L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps every employee as a {@link MockEmployee} object in a growable array indexed by sequence, removed rows left
+ * {@code null}. Cheap for small rosters, and the default.
+ * <p>
+ * Sequences are never reused, so after heavy churn most of the array can be holes. A bitmap of the live rows lets
+ * {@link #next(int)} and {@link #snapshot()} skip 64 of them at a time instead of checking every slot.
+ */
+public class HeapEmployeeTable implements EmployeeTable {
+    private MockEmployee[] rows = new MockEmployee[64];
+    private long[] live = new long[1];
+    private int length;
+    private int size;
+
+    @Override
+    public int append(MockEmployee mockEmployee) {
+        if (length == Integer.MAX_VALUE - 64) {
+            throw new IllegalStateException("Employee table is full");
+        }
+        if (length == rows.length) {
+            rows = Arrays.copyOf(rows, (int) Math.min(Integer.MAX_VALUE - 64, length * 2L));
+            live = Arrays.copyOf(live, (rows.length + 63) >>> 6);
+        }
+        var row = length++;
+        rows[row] = mockEmployee;
+        live[row >>> 6] |= 1L << row;
+        size++;
+        return length;
+    }
+
+    @Override
+    public void remove(int sequence) {
+        var row = sequence - 1;
+        rows[row] = null;
+        live[row >>> 6] &= ~(1L << row);
+        size--;
+    }
+
+    @Override
+    public MockEmployee get(int sequence) {
+        return rows[sequence - 1];
+    }
+
+    @Override
+    public String name(int sequence) {
+        return rows[sequence - 1].getName();
+    }
+
+    @Override
+    public int next(int after) {
+        var row = LiveRows.next(live, length, after);
+        return row < 0 ? 0 : row + 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<MockEmployee> snapshot() {
+        var employees = new MockEmployee[size];
+        var at = 0;
+        for (int row = LiveRows.next(live, length, 0); row >= 0; row = LiveRows.next(live, length, row + 1)) {
+            employees[at++] = rows[row];
+        }
+        return Collections.unmodifiableList(Arrays.asList(employees));
+    }
+}
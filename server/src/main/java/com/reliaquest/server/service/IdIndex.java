@@ -0,0 +1,127 @@
+package com.reliaquest.server.service;
+
+import java.util.UUID;
+
+/**
+ * Hash index from employee id to sequence, kept in three parallel primitive arrays rather than boxed map entries, so
+ * a roster of millions costs a few large arrays instead of millions of small objects.
+ * <p>
+ * Open addressing with linear probing. Removed slots are marked and only reclaimed when the table is rebuilt, which
+ * happens once live and removed slots together fill half of it. Not thread-safe: {@link MockEmployeeStore} guards it
+ * with its lock.
+ */
+final class IdIndex {
+    private static final int EMPTY = 0;
+    private static final int REMOVED = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] mostSignificant;
+    private long[] leastSignificant;
+    // Sequences start at 1, which leaves 0 and -1 to mark empty and removed slots
+    private int[] sequences;
+    private int size;
+    private int occupied;
+
+    IdIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @return the sequence of the id, or {@code 0} if absent
+     */
+    int get(UUID id) {
+        var at = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return at < 0 ? 0 : sequences[at];
+    }
+
+    /**
+     * @param id       an id not in the index
+     * @param sequence a positive sequence
+     */
+    void put(UUID id, int sequence) {
+        if ((occupied + 1) * 2 > sequences.length) {
+            rebuild();
+        }
+        insert(id.getMostSignificantBits(), id.getLeastSignificantBits(), sequence);
+    }
+
+    /**
+     * @return the sequence the id was removed with, or {@code 0} if absent
+     */
+    int remove(UUID id) {
+        var at = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (at < 0) {
+            return 0;
+        }
+        var sequence = sequences[at];
+        sequences[at] = REMOVED;
+        size--;
+        return sequence;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long msb, long lsb) {
+        var mask = sequences.length - 1;
+        for (int at = hash(msb, lsb) & mask; ; at = (at + 1) & mask) {
+            var sequence = sequences[at];
+            if (sequence == EMPTY) {
+                return -1;
+            }
+            if (sequence != REMOVED && mostSignificant[at] == msb && leastSignificant[at] == lsb) {
+                return at;
+            }
+        }
+    }
+
+    private void insert(long msb, long lsb, int sequence) {
+        var mask = sequences.length - 1;
+        var at = hash(msb, lsb) & mask;
+        while (sequences[at] != EMPTY && sequences[at] != REMOVED) {
+            at = (at + 1) & mask;
+        }
+        if (sequences[at] == EMPTY) {
+            occupied++;
+        }
+        mostSignificant[at] = msb;
+        leastSignificant[at] = lsb;
+        sequences[at] = sequence;
+        size++;
+    }
+
+    /**
+     * Rehashes the live entries into a table a quarter full at most, dropping the removed slots.
+     */
+    private void rebuild() {
+        var oldMostSignificant = mostSignificant;
+        var oldLeastSignificant = leastSignificant;
+        var oldSequences = sequences;
+        var capacity = MIN_CAPACITY;
+        while (capacity < (size + 1) * 4) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        for (int at = 0; at < oldSequences.length; at++) {
+            if (oldSequences[at] != EMPTY && oldSequences[at] != REMOVED) {
+                insert(oldMostSignificant[at], oldLeastSignificant[at], oldSequences[at]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostSignificant = new long[capacity];
+        leastSignificant = new long[capacity];
+        sequences = new int[capacity];
+        size = 0;
+        occupied = 0;
+    }
+
+    private static int hash(long msb, long lsb) {
+        var h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
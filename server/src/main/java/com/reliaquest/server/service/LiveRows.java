@@ -0,0 +1,32 @@
+package com.reliaquest.server.service;
+
+/**
+ * Bitmaps of live rows, one bit per row, as kept by the {@link EmployeeTable}s to skip removed rows a word at a time.
+ */
+final class LiveRows {
+
+    private LiveRows() {}
+
+    /**
+     * @param live   the bitmap, row {@code r} being bit {@code r % 64} of word {@code r / 64}
+     * @param length the number of rows the bitmap covers
+     * @return the first live row at or after {@code from}, or {@code -1} if there is none
+     */
+    static int next(long[] live, int length, int from) {
+        if (from >= length) {
+            return -1;
+        }
+        var word = from >>> 6;
+        var bits = live[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                var row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return row < length ? row : -1;
+            }
+            if (++word >= live.length) {
+                return -1;
+            }
+            bits = live[word];
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates large mock rosters quickly and reproducibly.
+ * <p>
+ * Faker is only consulted up front, to draw pools of names, job titles and user names from a Faker seeded with the
+ * generator's seed. Employees are then assembled from those pools with plain random numbers. The roster is cut into
+ * fixed-size blocks, each with its own {@link SplittableRandom} split off the seed in block order, and every block is
+ * a task of its own on a pool of workers. The roster therefore only depends on the seed and the locale, never on the
+ * number of workers or how they are scheduled. User names come from a pool too, so every email carries its row number
+ * to stay unique.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final int NAME_POOL_SIZE = 2_048;
+    private static final int TITLE_POOL_SIZE = 512;
+    private static final int USER_NAME_POOL_SIZE = 8_192;
+    private static final int LOGGED_EMPLOYEES = 1_000;
+
+    private final long seed;
+    private final int workers;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] titles;
+    private final String[] userNames;
+
+    /**
+     * @param seed    determines the generated roster
+     * @param workers threads generating in parallel
+     * @param locale  locale of the names and titles
+     */
+    public MockEmployeeGenerator(long seed, int workers, Locale locale) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers must be positive");
+        }
+        this.seed = seed;
+        this.workers = workers;
+        final var faker = new Faker(locale, new Random(seed));
+        this.firstNames = pool(NAME_POOL_SIZE, () -> faker.name().firstName());
+        this.lastNames = pool(NAME_POOL_SIZE, () -> faker.name().lastName());
+        this.titles = pool(TITLE_POOL_SIZE, () -> faker.job().title());
+        this.userNames = pool(USER_NAME_POOL_SIZE, () -> faker.twitter().userName().toLowerCase());
+    }
+
+    /**
+     * @param count how many employees to generate
+     * @return the employees, the same for the same seed and locale
+     */
+    public List<MockEmployee> generate(int count) {
+        final var start = System.nanoTime();
+        final var employees = new MockEmployee[count];
+        final var blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        // Split in block order up front, so every block gets the same stream whichever worker ends up running it
+        final var root = new SplittableRandom(seed);
+        final var blockRandoms = new SplittableRandom[blocks];
+        for (int block = 0; block < blocks; block++) {
+            blockRandoms[block] = root.split();
+        }
+
+        // One task per block: which worker fills a block is up to the executor, what goes into it is not
+        final var tasks = new ArrayList<Callable<Void>>(blocks);
+        for (int block = 0; block < blocks; block++) {
+            final var from = block * BLOCK_SIZE;
+            final var to = Math.min(count, from + BLOCK_SIZE);
+            final var random = blockRandoms[block];
+            tasks.add(() -> {
+                fill(employees, from, to, random);
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        if (count <= LOGGED_EMPLOYEES) {
+            Arrays.stream(employees).forEach(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+        }
+        log.info(
+                "Generated {} employees with seed {} on {} workers in {}ms",
+                count,
+                seed,
+                workers,
+                (System.nanoTime() - start) / 1_000_000);
+        return Arrays.asList(employees);
+    }
+
+    private void runAll(List<Callable<Void>> tasks) {
+        final var executor = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, tasks.size())));
+        try {
+            for (var block : executor.invokeAll(tasks)) {
+                block.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating employees", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate employees", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void fill(MockEmployee[] employees, int from, int to, SplittableRandom random) {
+        for (int i = from; i < to; i++) {
+            employees[i] = MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(pick(firstNames, random) + " " + pick(lastNames, random))
+                    .salary(random.nextInt(30000, 500000))
+                    .age(random.nextInt(16, 70))
+                    .title(pick(titles, random))
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(pick(userNames, random) + "." + i))
+                    .build();
+        }
+    }
+
+    private static String pick(String[] pool, SplittableRandom random) {
+        return pool[random.nextInt(pool.length)];
+    }
+
+    /**
+     * A version 4 UUID drawn from the given random, unlike {@link UUID#randomUUID()}.
+     */
+    private static UUID randomUuid(SplittableRandom random) {
+        final var mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final var leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static String[] pool(int size, Supplier<String> value) {
+        final var pool = new String[size];
+        for (int i = 0; i < size; i++) {
+            pool[i] = value.get();
+        }
+        return pool;
+    }
+}
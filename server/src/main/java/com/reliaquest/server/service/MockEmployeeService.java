@@ -1,14 +1,19 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.BulkCreateResult;
+import com.reliaquest.server.model.BulkDeleteMockEmployeeInput;
+import com.reliaquest.server.model.BulkDeleteResult;
+import com.reliaquest.server.model.ChangeFeed;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,14 +27,67 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final Validator validator;
+
+    /**
+     * @return a tag that changes whenever an employee is created or deleted, to be read before the data it validates
+     */
+    public String getVersionTag() {
+        return mockEmployeeStore.versionTag();
+    }
+
+    /**
+     * @return every employee, as a snapshot unaffected by concurrent creates and deletes
+     */
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    /**
+     * Returns one page of the roster, in the same order as {@link #getMockEmployees()}.
+     *
+     * @param cursor the {@link EmployeePage#nextCursor()} of the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of employees to return
+     * @throws IllegalArgumentException if the cursor is malformed or the limit is not positive
+     */
+    public EmployeePage getMockEmployees(String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        var page = mockEmployeeStore.page(parseCursor(cursor), limit);
+        return new EmployeePage(page.employees(), page.next() == null ? null : Long.toString(page.next()));
+    }
+
+    /**
+     * @return employees whose name contains the search string, ignoring case, in roster order
+     */
+    public List<MockEmployee> searchByName(@NonNull String searchString) {
+        return mockEmployeeStore.searchByName(searchString);
+    }
+
+    /**
+     * @return up to {@code limit} employees with the highest salaries, highest first
+     */
+    public List<MockEmployee> getTopEarners(int limit) {
+        return mockEmployeeStore.topBySalary(limit);
+    }
+
+    public Optional<Integer> getHighestSalary() {
+        return mockEmployeeStore.highestSalary();
+    }
+
+    /**
+     * @param versionTag a tag from {@link #getVersionTag()}
+     * @return the creates and deletes since that version, or empty if the caller has to reload the full roster
+     */
+    public Optional<ChangeFeed> getChangesSince(@NonNull String versionTag) {
+        return mockEmployeeStore.changesSince(versionTag);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +95,82 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Validates every input on its own and inserts the valid ones in a single pass.
+     *
+     * @return one result per input, in input order
+     */
+    public List<BulkCreateResult> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var results = new ArrayList<BulkCreateResult>(inputs.size());
+        final var created = new ArrayList<MockEmployee>(inputs.size());
+        for (int index = 0; index < inputs.size(); index++) {
+            final var input = inputs.get(index);
+            final var error = validate(input);
+            if (error != null) {
+                results.add(BulkCreateResult.rejected(index, error));
+                continue;
+            }
+            final var mockEmployee = MockEmployee.from(
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()),
+                    input);
+            created.add(mockEmployee);
+            results.add(BulkCreateResult.created(index, mockEmployee));
+        }
+        mockEmployeeStore.addAll(created);
+        log.debug("Added {} of {} employees in bulk", created.size(), inputs.size());
+        return results;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
+
+    public BulkDeleteResult deleteAll(@NonNull BulkDeleteMockEmployeeInput input) {
+        final var result = mockEmployeeStore.removeAll(input.getIds(), input.getNames());
+        log.debug("Removed {} employees in bulk", result.deleted().size());
+        return result;
+    }
+
+    private String validate(CreateMockEmployeeInput input) {
+        if (input == null) {
+            return "must not be null";
         }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 
-        return false;
+    private static long parseCursor(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            var after = Long.parseLong(cursor);
+            if (after >= 0) {
+                return after;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
     }
+
+    /**
+     * @param employees  the employees of the page
+     * @param nextCursor opaque cursor for the next page, or {@code null} on the last page
+     */
+    public record EmployeePage(List<MockEmployee> employees, String nextCursor) {}
 }
@@ -0,0 +1,486 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.BulkDeleteResult;
+import com.reliaquest.server.model.ChangeFeed;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+
+/**
+ * Thread-safe home of the mock employees.
+ * <p>
+ * Employees are kept in insertion order in an {@link EmployeeTable}, either as objects on the heap or in off-heap
+ * columns, and indexed by id, by exact name, by name trigram and by salary, so lookups, inserts, deletes, name
+ * searches and salary rankings do not scan the roster. The indexes are built from primitive arrays, so they stay cheap
+ * for the garbage collector however large the roster. Reads share a read lock, mutations take the write lock. The full
+ * roster is handed out as an immutable snapshot that is taken once per change and shared by every reader until the
+ * next one.
+ * <p>
+ * Every create and delete bumps the roster version, exposed through {@link #versionTag()} for HTTP validation, and is
+ * recorded in a bounded ring buffer of recent changes. {@link #changesSince(String)} replays that buffer to clients
+ * that already hold an older version, until their version has been overwritten.
+ * <p>
+ * Every added employee gets the next value of an ever-increasing sequence, which fixes its place in the roster order.
+ * {@link #page(long, int)} resumes after a given sequence, so paging stays consistent while employees are added or
+ * removed between pages: nothing is skipped or repeated, and added employees show up on the last page.
+ * <p>
+ * Changes can be handed to a {@link Journal} to make them durable. The store appends to the journal under its write
+ * lock, so the journal sees changes in the order they are applied, but waits for durability only after releasing it,
+ * so concurrent requests can be made durable together. A change is visible to readers as soon as it is applied, and
+ * acknowledged to its caller once it is durable.
+ */
+public class MockEmployeeStore {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final EmployeeTable table;
+    private final Journal journal;
+    private final IdIndex sequenceById = new IdIndex();
+    private final ExactNameIndex sequencesByName = new ExactNameIndex();
+    private final NameIndex nameIndex = new NameIndex();
+    private final NavigableMap<Integer, SortedIntList> bySalary = new TreeMap<>(Comparator.reverseOrder());
+    private final long epoch = System.currentTimeMillis();
+    private volatile long version;
+    private final MockEmployeeChange[] changes;
+    private volatile List<MockEmployee> snapshot;
+
+    /**
+     * @param mockEmployees     the initial roster, at version 0
+     * @param changeLogCapacity how many of the latest changes {@link #changesSince(String)} can replay
+     */
+    public MockEmployeeStore(@NonNull Collection<MockEmployee> mockEmployees, int changeLogCapacity) {
+        this(mockEmployees, changeLogCapacity, new HeapEmployeeTable());
+    }
+
+    /**
+     * @param mockEmployees     the initial roster, at version 0
+     * @param changeLogCapacity how many of the latest changes {@link #changesSince(String)} can replay
+     * @param table             an empty table to keep the employees in
+     */
+    public MockEmployeeStore(
+            @NonNull Collection<MockEmployee> mockEmployees, int changeLogCapacity, @NonNull EmployeeTable table) {
+        this(mockEmployees, changeLogCapacity, table, Journal.NONE);
+    }
+
+    /**
+     * @param mockEmployees     the initial roster, at version 0, which is not passed to the journal
+     * @param changeLogCapacity how many of the latest changes {@link #changesSince(String)} can replay
+     * @param table             an empty table to keep the employees in
+     * @param journal           receives every later change
+     */
+    public MockEmployeeStore(
+            @NonNull Collection<MockEmployee> mockEmployees,
+            int changeLogCapacity,
+            @NonNull EmployeeTable table,
+            @NonNull Journal journal) {
+        if (changeLogCapacity <= 0) {
+            throw new IllegalArgumentException("changeLogCapacity must be positive");
+        }
+        if (table.size() > 0) {
+            throw new IllegalArgumentException("table must be empty");
+        }
+        this.table = table;
+        this.journal = journal;
+        changes = new MockEmployeeChange[changeLogCapacity];
+        mockEmployees.forEach(this::put);
+        snapshot = table.snapshot();
+    }
+
+    /**
+     * @return every employee in insertion order, unaffected by later changes
+     */
+    public List<MockEmployee> snapshot() {
+        var current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.readLock().lock();
+        try {
+            // Writers clear the snapshot under the write lock, so one built under the read lock is never outdated
+            if (snapshot == null) {
+                snapshot = table.snapshot();
+            }
+            return snapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Captures the roster together with the journal position it reflects: it holds every change up to that position
+     * and none after it.
+     */
+    public Checkpoint checkpoint() {
+        lock.readLock().lock();
+        try {
+            if (snapshot == null) {
+                snapshot = table.snapshot();
+            }
+            return new Checkpoint(snapshot, journal.position());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        lock.readLock().lock();
+        try {
+            var sequence = sequenceById.get(id);
+            return sequence == 0 ? Optional.empty() : Optional.of(table.get(sequence));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} employees in roster order, starting after the given sequence.
+     *
+     * @param after the sequence to resume after, {@code 0} for the first page
+     * @param limit the maximum number of employees to return
+     * @return the page, with the sequence to resume after if more employees follow
+     */
+    public Page page(long after, int limit) {
+        lock.readLock().lock();
+        try {
+            var employees = new ArrayList<MockEmployee>(Math.min(limit, table.size()));
+            var sequence = table.next((int) Math.min(after, Integer.MAX_VALUE));
+            var last = 0;
+            while (sequence != 0 && employees.size() < limit) {
+                employees.add(table.get(sequence));
+                last = sequence;
+                sequence = table.next(sequence);
+            }
+            return new Page(employees, sequence == 0 ? null : (long) last);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds employees whose name contains the query, ignoring case.
+     *
+     * @return matching employees in roster order
+     */
+    public List<MockEmployee> searchByName(@NonNull String query) {
+        lock.readLock().lock();
+        try {
+            if (query.length() < NameIndex.GRAM) {
+                var folded = NameIndex.fold(query);
+                var matches = new ArrayList<MockEmployee>();
+                for (var sequence = table.next(0); sequence != 0; sequence = table.next(sequence)) {
+                    var name = table.name(sequence);
+                    if (name != null && NameIndex.fold(name).contains(folded)) {
+                        matches.add(table.get(sequence));
+                    }
+                }
+                return matches;
+            }
+            return nameIndex.search(query, table::name).stream().map(table::get).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best paid employees, leaving out those without a salary.
+     *
+     * @param limit the maximum number of employees to return
+     * @return the employees by descending salary, equal salaries in roster order
+     */
+    public List<MockEmployee> topBySalary(int limit) {
+        lock.readLock().lock();
+        try {
+            var top = new ArrayList<MockEmployee>(Math.min(limit, table.size()));
+            for (var sequences : bySalary.values()) {
+                for (int slot = sequences.nextSlot(0);
+                        slot >= 0 && top.size() < limit;
+                        slot = sequences.nextSlot(slot + 1)) {
+                    top.add(table.get(sequences.get(slot)));
+                }
+                if (top.size() == limit) {
+                    break;
+                }
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the highest salary, empty if no employee has one
+     */
+    public Optional<Integer> highestSalary() {
+        lock.readLock().lock();
+        try {
+            return bySalary.isEmpty() ? Optional.empty() : Optional.of(bySalary.firstKey());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Identifies the current state of the roster. The tag changes with every create and delete, and is never reused
+     * by another run of the server, whose roster is generated afresh.
+     * <p>
+     * Read the tag before the data it describes: a change in between then leaves the tag older than the data, which
+     * only costs the client one more full read, whereas the opposite order could pin outdated data to a newer tag.
+     */
+    public String versionTag() {
+        return Long.toString(epoch, 36) + "-" + version;
+    }
+
+    /**
+     * Returns the changes made after the given version, as long as all of them are still retained.
+     *
+     * @param versionTag a tag previously returned by {@link #versionTag()}
+     * @return the changes, or empty if the tag is unknown, from another run of the server, or so old that some of the
+     *     changes since have been dropped from the log
+     */
+    public Optional<ChangeFeed> changesSince(@NonNull String versionTag) {
+        var separator = versionTag.indexOf('-');
+        if (separator < 0 || !versionTag.substring(0, separator).equals(Long.toString(epoch, 36))) {
+            return Optional.empty();
+        }
+        long since;
+        try {
+            since = Long.parseLong(versionTag.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Versions are consecutive, so version v sits in slot v % capacity until v + capacity overwrites it
+            if (since < 0 || since > version || version - since > changes.length) {
+                return Optional.empty();
+            }
+            var replayed = new ArrayList<MockEmployeeChange>((int) (version - since));
+            for (var v = since + 1; v <= version; v++) {
+                replayed.add(changes[(int) (v % changes.length)]);
+            }
+            return Optional.of(new ChangeFeed(versionTag(), List.copyOf(replayed)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return table.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an employee, replacing any employee with the same id.
+     */
+    public void add(@NonNull MockEmployee mockEmployee) {
+        long position;
+        lock.writeLock().lock();
+        try {
+            put(mockEmployee);
+            position = record(MockEmployeeChange.Type.CREATED, mockEmployee);
+            snapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        journal.awaitDurable(position);
+    }
+
+    /**
+     * Adds employees in one pass under a single write lock, replacing any employee with the same id.
+     */
+    public void addAll(@NonNull Collection<MockEmployee> mockEmployees) {
+        var position = 0L;
+        lock.writeLock().lock();
+        try {
+            for (var mockEmployee : mockEmployees) {
+                put(mockEmployee);
+                position = record(MockEmployeeChange.Type.CREATED, mockEmployee);
+            }
+            snapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        journal.awaitDurable(position);
+    }
+
+    /**
+     * Removes the earliest added employee whose name matches, ignoring case.
+     *
+     * @return the removed employee, if any matched
+     */
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        MockEmployee removed;
+        long position;
+        lock.writeLock().lock();
+        try {
+            var sequence = firstByName(name);
+            if (sequence == 0) {
+                return Optional.empty();
+            }
+            removed = remove(sequence);
+            position = record(MockEmployeeChange.Type.DELETED, removed);
+            snapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        journal.awaitDurable(position);
+        return Optional.of(removed);
+    }
+
+    /**
+     * Removes employees by id and by name in one pass under a single write lock. Ids are removed first, then every
+     * name removes the earliest added remaining employee with that name, ignoring case.
+     *
+     * @return the removed employees and the ids and names that matched nothing
+     */
+    public BulkDeleteResult removeAll(@NonNull Collection<UUID> ids, @NonNull Collection<String> names) {
+        var deleted = new ArrayList<MockEmployee>(ids.size() + names.size());
+        var missingIds = new ArrayList<UUID>();
+        var missingNames = new ArrayList<String>();
+        var position = 0L;
+        lock.writeLock().lock();
+        try {
+            for (var id : ids) {
+                var sequence = id == null ? 0 : sequenceById.get(id);
+                var removed = sequence == 0 ? null : remove(sequence);
+                if (removed == null) {
+                    missingIds.add(id);
+                } else {
+                    deleted.add(removed);
+                    position = record(MockEmployeeChange.Type.DELETED, removed);
+                }
+            }
+            for (var name : names) {
+                var sequence = name == null ? 0 : firstByName(name);
+                if (sequence == 0) {
+                    missingNames.add(name);
+                } else {
+                    var removed = remove(sequence);
+                    deleted.add(removed);
+                    position = record(MockEmployeeChange.Type.DELETED, removed);
+                }
+            }
+            if (!deleted.isEmpty()) {
+                snapshot = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        journal.awaitDurable(position);
+        return new BulkDeleteResult(List.copyOf(deleted), missingIds, missingNames);
+    }
+
+    /**
+     * @return the journal position of the change
+     */
+    private long record(MockEmployeeChange.Type type, MockEmployee mockEmployee) {
+        var next = version + 1;
+        changes[(int) (next % changes.length)] = new MockEmployeeChange(next, type, mockEmployee);
+        version = next;
+        return journal.append(type, mockEmployee);
+    }
+
+    private void put(MockEmployee mockEmployee) {
+        var existing = sequenceById.get(mockEmployee.getId());
+        if (existing != 0) {
+            remove(existing);
+        }
+        var sequence = table.append(mockEmployee);
+        sequenceById.put(mockEmployee.getId(), sequence);
+        if (mockEmployee.getSalary() != null) {
+            bySalary.computeIfAbsent(mockEmployee.getSalary(), ignored -> new SortedIntList()).append(sequence);
+        }
+        if (mockEmployee.getName() != null) {
+            sequencesByName.add(sequence, mockEmployee.getName());
+            nameIndex.add(sequence, mockEmployee.getName());
+        }
+    }
+
+    private MockEmployee remove(int sequence) {
+        var removed = table.get(sequence);
+        table.remove(sequence);
+        sequenceById.remove(removed.getId());
+        if (removed.getName() != null) {
+            sequencesByName.remove(sequence, removed.getName());
+            nameIndex.remove(sequence, removed.getName());
+        }
+        if (removed.getSalary() != null) {
+            var sequences = bySalary.get(removed.getSalary());
+            if (sequences.remove(sequence) && sequences.isEmpty()) {
+                bySalary.remove(removed.getSalary());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return the sequence of the earliest added employee whose name matches, ignoring case, or {@code 0} if none
+     */
+    private int firstByName(String name) {
+        return sequencesByName.first(name, table::name);
+    }
+
+    /**
+     * @param employees the employees of the page, in roster order
+     * @param next      the sequence to resume after, or {@code null} on the last page
+     */
+    public record Page(List<MockEmployee> employees, Long next) {}
+
+    /**
+     * @param employees every employee in insertion order
+     * @param position  the journal position of the latest change the employees reflect
+     */
+    public record Checkpoint(List<MockEmployee> employees, long position) {}
+
+    /**
+     * Receives every change as the store applies it, e.g. to make it durable.
+     */
+    public interface Journal {
+        Journal NONE = new Journal() {
+            @Override
+            public long append(MockEmployeeChange.Type type, MockEmployee mockEmployee) {
+                return 0;
+            }
+
+            @Override
+            public long position() {
+                return 0;
+            }
+
+            @Override
+            public void awaitDurable(long position) {}
+        };
+
+        /**
+         * Called under the store's write lock, in the order the changes are applied.
+         *
+         * @return the position of the change in the journal, larger than that of any earlier change
+         */
+        long append(MockEmployeeChange.Type type, MockEmployee mockEmployee);
+
+        /**
+         * @return the position of the latest appended change, {@code 0} if there is none
+         */
+        long position();
+
+        /**
+         * Blocks until the change at the given position and all before it are durable.
+         *
+         * @throws java.io.UncheckedIOException if they could not be made durable
+         */
+        void awaitDurable(long position);
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.server.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Inverted index from the trigrams of case-folded names to the sequences of the employees carrying them.
+ * <p>
+ * Every posting list is a {@link SortedIntList}. A substring query walks the shortest posting list of its trigrams,
+ * keeps the sequences present in all the others, and only checks those candidates with {@link String#contains}.
+ * Queries shorter than a trigram cannot use the index and are answered by the caller. Not thread-safe:
+ * {@link MockEmployeeStore} guards it with its lock.
+ */
+class NameIndex {
+    static final int GRAM = 3;
+
+    private final Map<Long, SortedIntList> postings = new HashMap<>();
+
+    /**
+     * @param sequence a sequence larger than any added before
+     */
+    void add(int sequence, String name) {
+        var folded = fold(name);
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            postings.computeIfAbsent(trigram(folded, i), ignored -> new SortedIntList()).append(sequence);
+        }
+    }
+
+    void remove(int sequence, String name) {
+        var folded = fold(name);
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            var key = trigram(folded, i);
+            var posting = postings.get(key);
+            if (posting != null && posting.remove(sequence) && posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Finds the sequences of the names containing a query of at least {@link #GRAM} characters, ignoring case.
+     *
+     * @param query      the name fragment to look for
+     * @param nameLookup resolves a candidate sequence to its name
+     * @return matching sequences in ascending order
+     */
+    List<Integer> search(String query, IntFunction<String> nameLookup) {
+        var folded = fold(query);
+        var lists = new ArrayList<SortedIntList>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            var posting = postings.get(trigram(folded, i));
+            if (posting == null) {
+                return List.of();
+            }
+            lists.add(posting);
+        }
+
+        var shortest = lists.get(0);
+        for (var posting : lists) {
+            if (posting.size() < shortest.size()) {
+                shortest = posting;
+            }
+        }
+
+        var matches = new ArrayList<Integer>();
+        candidates:
+        for (int slot = shortest.nextSlot(0); slot >= 0; slot = shortest.nextSlot(slot + 1)) {
+            var sequence = shortest.get(slot);
+            for (var posting : lists) {
+                if (posting != shortest && !posting.contains(sequence)) {
+                    continue candidates;
+                }
+            }
+            if (fold(nameLookup.apply(sequence)).contains(folded)) {
+                matches.add(sequence);
+            }
+        }
+        return matches;
+    }
+
+    static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String value, int start) {
+        return ((long) value.charAt(start) << 32) | ((long) value.charAt(start + 1) << 16) | value.charAt(start + 2);
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.server.service;
+
+import java.util.Arrays;
+
+/**
+ * Growable, sorted {@code int[]} of row sequences. Sequences only ever grow, so adding is an append, and membership is
+ * a binary search. Not thread-safe: {@link MockEmployeeStore} guards it with its lock.
+ * <p>
+ * Removal only marks the value's slot in a bitmap, so it costs a binary search rather than shifting the rest of the
+ * array, which for the posting of a common trigram is most of the roster. The slots are compacted once more of them
+ * are removed than live, which keeps removal amortized constant on top of the search. Iterate over the live values by
+ * slot with {@link #nextSlot(int)} and {@link #get(int)}.
+ */
+final class SortedIntList {
+    private int[] values = new int[4];
+    private long[] removed = new long[1];
+    private int slots;
+    private int removedCount;
+
+    /**
+     * @param value a value not smaller than any appended before
+     */
+    void append(int value) {
+        if (slots > 0 && values[slots - 1] == value) {
+            // Repeated key within the same row, e.g. a trigram occurring twice in a name
+            return;
+        }
+        if (slots == values.length) {
+            values = Arrays.copyOf(values, slots * 2);
+            removed = Arrays.copyOf(removed, (values.length + 63) >>> 6);
+        }
+        values[slots++] = value;
+    }
+
+    boolean remove(int value) {
+        var slot = Arrays.binarySearch(values, 0, slots, value);
+        if (slot < 0 || isRemoved(slot)) {
+            return false;
+        }
+        removed[slot >>> 6] |= 1L << slot;
+        removedCount++;
+        if (removedCount > slots - removedCount) {
+            compact();
+        }
+        return true;
+    }
+
+    boolean contains(int value) {
+        var slot = Arrays.binarySearch(values, 0, slots, value);
+        return slot >= 0 && !isRemoved(slot);
+    }
+
+    /**
+     * @return the first slot at or after {@code from} that holds a live value, or {@code -1} if there is none
+     */
+    int nextSlot(int from) {
+        if (removedCount == 0) {
+            return from < slots ? from : -1;
+        }
+        for (int slot = from; slot < slots; slot++) {
+            var word = removed[slot >>> 6] >>> slot;
+            if (word != -1L >>> (slot & 63)) {
+                // Some slot in the rest of this word is not removed, the lowest clear bit is the first
+                var next = slot + Long.numberOfTrailingZeros(~word);
+                return next < slots ? next : -1;
+            }
+            slot |= 63;
+        }
+        return -1;
+    }
+
+    /**
+     * @param slot a slot returned by {@link #nextSlot(int)}
+     */
+    int get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * @return the number of live values
+     */
+    int size() {
+        return slots - removedCount;
+    }
+
+    boolean isEmpty() {
+        return slots == removedCount;
+    }
+
+    private boolean isRemoved(int slot) {
+        return (removed[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private void compact() {
+        var live = 0;
+        for (int slot = nextSlot(0); slot >= 0; slot = nextSlot(slot + 1)) {
+            values[live++] = values[slot];
+        }
+        slots = live;
+        removedCount = 0;
+        Arrays.fill(removed, 0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.server.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Dictionary of distinct strings, stored once each as UTF-8 in an off-heap arena and referred to by dense int codes.
+ * <p>
+ * The arena is a list of direct buffers that are only ever appended to, so the bytes behind a code never move. Codes
+ * are looked up through an open-addressing table of primitive ints that compares candidates against the arena bytes,
+ * so the dictionary itself holds no {@link String}s. Entries are never removed: the dictionary grows with every
+ * distinct string it has seen.
+ * <p>
+ * Not thread-safe: {@link MockEmployeeStore} guards it with its lock. A {@link Snapshot} taken under the lock decodes
+ * the codes known at that time without it, as their bytes and offsets are never written again.
+ */
+final class Utf8Dictionary {
+    private static final int ARENA_CHUNK_BYTES = 1 << 20;
+
+    private ByteBuffer[] arena = new ByteBuffer[0];
+    private int arenaUsed;
+    // Per code: arena chunk in the high and position in the low half, byte length, and hash of the bytes
+    private long[] offsets = new long[64];
+    private int[] lengths = new int[64];
+    private int[] hashes = new int[64];
+    private int count;
+    // Code + 1 per slot, 0 for an empty slot
+    private int[] table = new int[128];
+
+    /**
+     * @return the code of the value, added to the dictionary if new
+     */
+    int encode(String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        var hash = hash(bytes);
+        var mask = table.length - 1;
+        var at = hash & mask;
+        for (; table[at] != 0; at = (at + 1) & mask) {
+            var code = table[at] - 1;
+            if (hashes[code] == hash && matches(code, bytes)) {
+                return code;
+            }
+        }
+        var code = store(bytes, hash);
+        table[at] = code + 1;
+        if (count * 2 > table.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return decode(arena, offsets, lengths, code);
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(arena, offsets, lengths);
+    }
+
+    /**
+     * Decodes the codes known when it was taken.
+     */
+    record Snapshot(ByteBuffer[] arena, long[] offsets, int[] lengths) {
+        String decode(int code) {
+            return Utf8Dictionary.decode(arena, offsets, lengths, code);
+        }
+    }
+
+    private static String decode(ByteBuffer[] arena, long[] offsets, int[] lengths, int code) {
+        var bytes = new byte[lengths[code]];
+        arena[(int) (offsets[code] >>> 32)].get((int) offsets[code], bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean matches(int code, byte[] bytes) {
+        if (lengths[code] != bytes.length) {
+            return false;
+        }
+        var chunk = arena[(int) (offsets[code] >>> 32)];
+        var position = (int) offsets[code];
+        for (int i = 0; i < bytes.length; i++) {
+            if (chunk.get(position + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int store(byte[] bytes, int hash) {
+        if (arena.length == 0 || arenaUsed + bytes.length > arena[arena.length - 1].capacity()) {
+            // Values never span chunks; one larger than a chunk gets a chunk of its own
+            arena = Arrays.copyOf(arena, arena.length + 1);
+            arena[arena.length - 1] = ByteBuffer.allocateDirect(Math.max(ARENA_CHUNK_BYTES, bytes.length));
+            arenaUsed = 0;
+        }
+        arena[arena.length - 1].put(arenaUsed, bytes);
+
+        // Grown by copying, so snapshots keep reading the arrays they captured
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            lengths = Arrays.copyOf(lengths, count * 2);
+            hashes = Arrays.copyOf(hashes, count * 2);
+        }
+        offsets[count] = ((long) (arena.length - 1) << 32) | arenaUsed;
+        lengths[count] = bytes.length;
+        hashes[count] = hash;
+        arenaUsed += bytes.length;
+        return count++;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        var mask = table.length - 1;
+        for (int code = 0; code < count; code++) {
+            var at = hashes[code] & mask;
+            while (table[at] != 0) {
+                at = (at + 1) & mask;
+            }
+            table[at] = code + 1;
+        }
+    }
+
+    private static int hash(byte[] bytes) {
+        var h = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
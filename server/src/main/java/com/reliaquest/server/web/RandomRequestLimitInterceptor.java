@@ -2,47 +2,200 @@ package com.reliaquest.server.web;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.Closeable;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.random.RandomGenerator;
-import lombok.Getter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-public class RandomRequestLimitInterceptor implements HandlerInterceptor {
+/**
+ * Token bucket per client or shared by all: a full bucket lets a burst of requests through, and every accepted request
+ * takes a token that comes back after {@code refillPeriod / requestLimit}. An empty bucket is full again once it has
+ * been left alone for the refill period, and requests beyond the tokens left are rejected with 429.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} packing the time refills were last credited up to with the number of
+ * tokens in use, updated with a compare-and-set loop: no locks, and no allocation per request. Buckets are either
+ * shared by all clients or kept per client address. Every answer carries {@code X-RateLimit-Remaining}, and
+ * rejections a {@code Retry-After} in seconds until the next token, so clients can pace themselves.
+ * <p>
+ * Per-client buckets are capped at a hard maximum. A background thread drops the buckets that have refilled
+ * completely, which behave exactly like new ones, so requests never pay for eviction. While the maximum is reached,
+ * new clients share one overflow bucket, so they are still limited, only together.
+ */
+@Slf4j
+public class RandomRequestLimitInterceptor implements HandlerInterceptor, Closeable {
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
 
-    private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    private final int requestLimit;
+    private final long refillPeriodMillis;
+    private final long tokenIntervalMillis;
+    private final boolean perClient;
+    private final int maxTrackedClients;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong sharedBucket = new AtomicLong();
+    private final AtomicLong overflowBucket = new AtomicLong();
+    private final ConcurrentHashMap<String, AtomicLong> clientBuckets = new ConcurrentHashMap<>();
+    // Counts the buckets in the map, reserved before inserting so that the maximum is never exceeded
+    private final AtomicInteger trackedClients = new AtomicInteger();
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * @param requestLimit      tokens of a full bucket, at most 65535
+     * @param refillPeriod      time an empty bucket takes to refill completely
+     * @param perClient         whether every client address gets its own bucket
+     * @param maxTrackedClients the most client buckets kept at once
+     */
+    public RandomRequestLimitInterceptor(
+            int requestLimit, Duration refillPeriod, boolean perClient, int maxTrackedClients) {
+        if (requestLimit <= 0 || requestLimit > COUNT_MASK) {
+            throw new IllegalArgumentException("requestLimit must be between 1 and " + COUNT_MASK);
+        }
+        if (perClient && maxTrackedClients <= 0) {
+            throw new IllegalArgumentException("maxTrackedClients must be positive");
+        }
+        this.requestLimit = requestLimit;
+        this.refillPeriodMillis = refillPeriod.toMillis();
+        this.tokenIntervalMillis = Math.max(1, refillPeriodMillis / requestLimit);
+        this.perClient = perClient;
+        this.maxTrackedClients = maxTrackedClients;
+        if (perClient) {
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "rate-limit-eviction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            var interval = Math.max(refillPeriodMillis, 1000);
+            evictor.scheduleWithFixedDelay(this::evictIdleClients, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+        log.info(
+                "Limiting to bursts of {} requests, refilled over {}s{}",
+                requestLimit,
+                refillPeriod.toSeconds(),
+                perClient ? " per client" : "");
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                return false;
+        var now = nowMillis();
+        var outcome = tryAcquire(bucketFor(request), now);
+        if (outcome < 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setIntHeader(HttpHeaders.RETRY_AFTER, (int) TimeUnit.MILLISECONDS.toSeconds(-outcome + 999));
+            response.setIntHeader(REMAINING_HEADER, 0);
+            return false;
+        }
+        response.setIntHeader(REMAINING_HEADER, (int) outcome);
+        return true;
+    }
+
+    /**
+     * @return the tokens left if this request was accepted, otherwise minus the milliseconds until the next token
+     */
+    private long tryAcquire(AtomicLong bucket, long now) {
+        while (true) {
+            var state = bucket.get();
+            var creditedUntil = state >>> COUNT_BITS;
+            var used = state & COUNT_MASK;
+            // A request that read the clock just before another one updated the bucket may see the credit ahead
+            var refilled = Math.max(0, now - creditedUntil) / tokenIntervalMillis;
+            if (refilled >= used) {
+                used = 0;
+                creditedUntil = Math.max(creditedUntil, now);
+            } else {
+                // Keep the part of an interval that has already passed towards the next token
+                used -= refilled;
+                creditedUntil += refilled * tokenIntervalMillis;
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+            if (used >= requestLimit) {
+                return now - creditedUntil - tokenIntervalMillis;
+            }
+            if (bucket.compareAndSet(state, (creditedUntil << COUNT_BITS) | (used + 1))) {
+                return requestLimit - used - 1;
             }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
+    }
 
-        return true;
+    /**
+     * Stops evicting idle client buckets.
+     */
+    @Override
+    public void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
     }
 
-    private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
-        public static RequestLimit init() {
-            return new RequestLimit(0, Instant.now());
+    private AtomicLong bucketFor(HttpServletRequest request) {
+        if (!perClient) {
+            return sharedBucket;
         }
+        var address = request.getRemoteAddr();
+        var bucket = clientBuckets.get(address);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (!reserveClient()) {
+            return overflowBucket;
+        }
+        var created = new AtomicLong();
+        var existing = clientBuckets.putIfAbsent(address, created);
+        if (existing != null) {
+            // Another request of the same client got there first
+            trackedClients.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+
+    private boolean reserveClient() {
+        while (true) {
+            var tracked = trackedClients.get();
+            if (tracked >= maxTrackedClients) {
+                return false;
+            }
+            if (trackedClients.compareAndSet(tracked, tracked + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drops the client buckets that have refilled completely, as a new bucket behaves exactly the same. A request that
+     * looked its bucket up just before it went counts against the dropped one, which at most grants that client one
+     * more request.
+     */
+    private void evictIdleClients() {
+        var now = nowMillis();
+        var evicted = 0;
+        for (var entry : clientBuckets.entrySet()) {
+            var state = entry.getValue().get();
+            var idle = (now - (state >>> COUNT_BITS)) / tokenIntervalMillis >= (state & COUNT_MASK);
+            if (idle && clientBuckets.remove(entry.getKey(), entry.getValue())) {
+                trackedClients.decrementAndGet();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Dropped {} idle client buckets, {} left", evicted, trackedClients.get());
+        }
+    }
+
+    /**
+     * Milliseconds since this interceptor was created, from the monotonic clock.
+     */
+    private long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 }
@@ -0,0 +1,347 @@
+package com.reliaquest.server.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final MockEmployee ann = employee("Ann Lee", 90000);
+    private final MockEmployee bob = employee("Bob Stone", 120000);
+    private final MockEmployee annAgain = employee("ANN LEE", 110000);
+    private final MockEmployee cy = employee("Cy", null);
+
+    @Test
+    void getEmployees_ShouldReturnWholeRosterWithoutCursor_WhenNoPagingParameters() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob, cy));
+
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id", contains(ids(ann, bob, cy))))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void getEmployees_ShouldPageThroughRoster_AndOmitNextCursorOnLastPage() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob, annAgain, cy));
+
+        var first = mockMvc.perform(get("/api/v1/employee").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id", contains(ids(ann, bob))))
+                .andExpect(jsonPath("$.next_cursor").isString())
+                .andReturn();
+        String cursor = JsonPath.read(first.getResponse().getContentAsString(), "$.next_cursor");
+
+        mockMvc.perform(get("/api/v1/employee").param("limit", "2").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id", contains(ids(annAgain, cy))))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void getEmployees_ShouldUseDefaultPageSize_WhenOnlyCursorIsGiven() throws Exception {
+        var roster = new ArrayList<MockEmployee>();
+        for (int i = 1; i <= 150; i++) {
+            roster.add(employee("Worker " + i, i * 1000));
+        }
+        var mockMvc = mockMvc(roster);
+
+        mockMvc.perform(get("/api/v1/employee").param("after", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(100))
+                .andExpect(jsonPath("$.next_cursor").isString());
+    }
+
+    @Test
+    void getEmployees_ShouldAcceptTheMaximumPageSize_AndRejectLimitsOutsideIt() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob));
+
+        mockMvc.perform(get("/api/v1/employee").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id", contains(ids(ann, bob))))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+        mockMvc.perform(get("/api/v1/employee").param("limit", "1001"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("limit must be between 1 and 1000"));
+        mockMvc.perform(get("/api/v1/employee").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("limit must be between 1 and 1000"));
+    }
+
+    @Test
+    void getEmployees_ShouldRejectMalformedCursors() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob));
+
+        mockMvc.perform(get("/api/v1/employee").param("after", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor: abc"));
+        mockMvc.perform(get("/api/v1/employee").param("after", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor: -1"));
+    }
+
+    @Test
+    void getEmployees_ShouldReturnEmptyLastPage_WhenCursorIsPastTheEnd() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob));
+
+        mockMvc.perform(get("/api/v1/employee").param("after", Long.toString(Long.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty())
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void getEmployees_ShouldAnswerNotModifiedWithoutBody_WhenETagMatches() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob));
+
+        var etag = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/employee/{id}", bob.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getEmployees_ShouldChangeETag_WhenRosterIsModified() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob));
+        var etag = mockMvc.perform(get("/api/v1/employee"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/v1/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                {"name":"Dee Park","salary":80000,"age":40,"title":"Engineer"}
+                                """))
+                .andExpect(status().isOk());
+
+        var changed = mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+
+        mockMvc.perform(delete("/api/v1/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                {"name":"Dee Park"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, changed))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(changed)));
+    }
+
+    @Test
+    void searchEmployees_ShouldReturnMatchesInRosterOrder_IgnoringCase() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob, annAgain, cy));
+
+        mockMvc.perform(get("/api/v1/employee/search").param("name", "lee"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id", contains(ids(ann, annAgain))));
+    }
+
+    @Test
+    void searchEmployees_ShouldReturnEmptyData_WhenNothingMatches() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob));
+
+        mockMvc.perform(get("/api/v1/employee/search").param("name", "zed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @Test
+    void searchEmployees_ShouldRejectBlankName() throws Exception {
+        var mockMvc = mockMvc(List.of(ann));
+
+        mockMvc.perform(get("/api/v1/employee/search").param("name", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("name must not be blank"));
+    }
+
+    @Test
+    void getTopEarners_ShouldReturnTenHighestSalaries_ByDefault() throws Exception {
+        var roster = new ArrayList<>(List.of(ann, bob, annAgain, cy));
+        for (int i = 1; i <= 10; i++) {
+            roster.add(employee("Worker " + i, i * 1000));
+        }
+        var mockMvc = mockMvc(roster);
+
+        mockMvc.perform(get("/api/v1/employee/top-earners"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(10))
+                .andExpect(jsonPath("$.data[0].id").value(bob.getId().toString()))
+                .andExpect(jsonPath("$.data[1].id").value(annAgain.getId().toString()))
+                .andExpect(jsonPath("$.data[2].id").value(ann.getId().toString()))
+                .andExpect(jsonPath("$.data[9].employee_salary").value(4000));
+    }
+
+    @Test
+    void getTopEarners_ShouldAcceptTheMaximumPageSize_AndRejectLimitsOutsideIt() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob, cy));
+
+        mockMvc.perform(get("/api/v1/employee/top-earners").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id", contains(ids(bob, ann))));
+        mockMvc.perform(get("/api/v1/employee/top-earners").param("limit", "1001"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("limit must be between 1 and 1000"));
+        mockMvc.perform(get("/api/v1/employee/top-earners").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTopEarners_ShouldReturnEmptyData_WhenNoEmployeeHasASalary() throws Exception {
+        var mockMvc = mockMvc(List.of(cy));
+
+        mockMvc.perform(get("/api/v1/employee/top-earners"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @Test
+    void getHighestSalary_ShouldReturnTheHighestSalary() throws Exception {
+        var mockMvc = mockMvc(List.of(ann, bob, cy));
+
+        mockMvc.perform(get("/api/v1/employee/highest-salary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(120000));
+    }
+
+    @Test
+    void getHighestSalary_ShouldReturnNoData_WhenNoEmployeeHasASalary() throws Exception {
+        var mockMvc = mockMvc(List.of(cy));
+
+        mockMvc.perform(get("/api/v1/employee/highest-salary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").doesNotExist())
+                .andExpect(jsonPath("$.status").value("Successfully processed request."));
+    }
+
+    @Test
+    void createEmployees_ShouldCreateValidItems_AndReportInvalidOnesAtTheirIndex() throws Exception {
+        var mockMvc = mockMvc(List.of(ann));
+
+        mockMvc.perform(post("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON.writeValueAsString(List.of(
+                                input("Dee Park", 80000, 40),
+                                input("Kid", -1, 10),
+                                input("Eli Moss", 95000, 35)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].index").value(0))
+                .andExpect(jsonPath("$.data[0].employee.employee_name").value("Dee Park"))
+                .andExpect(jsonPath("$.data[0].error").doesNotExist())
+                .andExpect(jsonPath("$.data[1].index").value(1))
+                .andExpect(jsonPath("$.data[1].employee").doesNotExist())
+                .andExpect(jsonPath("$.data[1].error", allOf(startsWith("age "), containsString("salary "))))
+                .andExpect(jsonPath("$.data[2].index").value(2))
+                .andExpect(jsonPath("$.data[2].employee.employee_name").value("Eli Moss"));
+
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(jsonPath("$.data[*].employee_name", contains("Ann Lee", "Dee Park", "Eli Moss")));
+    }
+
+    @Test
+    void createEmployees_ShouldAcceptTheMaximumBulkSize_AndRejectBatchesOutsideIt() throws Exception {
+        var mockMvc = mockMvc(List.of());
+        var item = input("Dee Park", 80000, 40);
+
+        mockMvc.perform(post("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON.writeValueAsString(Collections.nCopies(10_001, item))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Between 1 and 10000 employees can be created at once"));
+        mockMvc.perform(post("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON.writeValueAsString(Collections.nCopies(10_000, item))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(10_000));
+    }
+
+    private static MockMvc mockMvc(List<MockEmployee> roster) {
+        var service = new MockEmployeeService(
+                new Faker(Locale.ROOT),
+                new MockEmployeeStore(roster, 16),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        var controller = new MockEmployeeController(service);
+        // Bound from mock.employees.max-bulk-size in the application, this is its default
+        ReflectionTestUtils.setField(controller, "maxBulkSize", 10_000);
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    private static Map<String, Object> input(String name, int salary, int age) {
+        return Map.of("name", name, "salary", salary, "age", age, "title", "Engineer");
+    }
+
+    private static String[] ids(MockEmployee... employees) {
+        return Arrays.stream(employees)
+                .map(employee -> employee.getId().toString())
+                .toArray(String[]::new);
+    }
+
+    private static MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Engineer")
+                .email(name.toLowerCase(Locale.ROOT).replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.server.persistence;
+
+import static com.reliaquest.server.persistence.WriteAheadLogTest.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.HeapEmployeeTable;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeePersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicReference<MockEmployeeStore> store = new AtomicReference<>();
+
+    @Test
+    void recover_ShouldBeEmpty_WhenNothingWasPersisted() throws IOException {
+        try (var persistence = new MockEmployeePersistence(directory, Duration.ofMinutes(5), store::get)) {
+            assertThat(persistence.recover()).isEmpty();
+        }
+    }
+
+    @Test
+    void recover_ShouldRestoreSnapshotAndLoggedChanges_AfterACrash() throws IOException {
+        var ann = employee("Ann Lee");
+        var bob = employee("Bob Stone");
+        var persistence = new MockEmployeePersistence(directory, Duration.ofMinutes(5), store::get);
+        start(persistence, List.of(ann));
+        store.get().add(bob);
+        store.get().removeFirstByName("ann lee");
+        // No close, as after a crash: the changes are only in the log
+
+        try (var recovered = new MockEmployeePersistence(directory, Duration.ofMinutes(5), store::get)) {
+            assertThat(recovered.recover()).contains(List.of(bob));
+        }
+        persistence.close();
+    }
+
+    @Test
+    void snapshots_ShouldReadBackEveryChange_WhenTakenWhileTheLogRollsAndIsPruned() throws Exception {
+        // Snapshots every millisecond, each rolling the log and deleting what it supersedes while writers append
+        var persistence = new MockEmployeePersistence(directory, Duration.ofMillis(1), store::get);
+        start(persistence, List.of(employee("Ann Lee")));
+        var writers = Executors.newFixedThreadPool(4);
+        try {
+            var done = new ArrayList<Future<?>>();
+            for (int writer = 0; writer < 4; writer++) {
+                done.add(writers.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        var added = employee("Employee " + i);
+                        store.get().add(added);
+                        if (i % 3 == 0) {
+                            store.get().removeFirstByName(added.getName());
+                        }
+                    }
+                }));
+            }
+            for (var writer : done) {
+                writer.get();
+            }
+        } finally {
+            writers.shutdown();
+        }
+        persistence.close();
+        var expected = store.get().snapshot();
+
+        var snapshots = PersistenceFiles.snapshots(directory);
+        assertThat(snapshots).hasSize(1);
+        var snapshot = SnapshotFile.read(snapshots.lastEntry().getValue());
+        assertThat(snapshot.employees()).isEqualTo(expected);
+        try (var recovered = new MockEmployeePersistence(directory, Duration.ofMinutes(5), store::get)) {
+            assertThat(recovered.recover()).contains(expected);
+        }
+    }
+
+    private void start(MockEmployeePersistence persistence, List<MockEmployee> generated) {
+        var employees = persistence.recover().orElse(generated);
+        store.set(new MockEmployeeStore(employees, 16, new HeapEmployeeTable(), persistence.journal()));
+        persistence.start();
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.server.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final MockEmployee ann = employee("Ann Lee");
+    private final MockEmployee bob = employee("Bob Stone");
+    private final MockEmployee cy = employee("Cy");
+
+    @Test
+    void replay_ShouldReturnEveryDurableChange_InOrder() throws IOException {
+        try (var log = new WriteAheadLog(directory, 0)) {
+            log.append(MockEmployeeChange.Type.CREATED, ann);
+            log.append(MockEmployeeChange.Type.CREATED, bob);
+            log.awaitDurable(log.append(MockEmployeeChange.Type.DELETED, ann));
+        }
+
+        var created = new ArrayList<MockEmployee>();
+        var deleted = new ArrayList<UUID>();
+
+        assertThat(WriteAheadLog.replay(directory, 0, created::add, deleted::add)).isEqualTo(3);
+        assertThat(created).containsExactly(ann, bob);
+        assertThat(deleted).containsExactly(ann.getId());
+        assertThat(WriteAheadLog.replay(directory, 2, created::add, deleted::add)).isEqualTo(3);
+    }
+
+    @Test
+    void replay_ShouldCutOffTornLastFrame_AndLetTheLogBeAppendedToAgain() throws IOException {
+        try (var log = new WriteAheadLog(directory, 0)) {
+            log.append(MockEmployeeChange.Type.CREATED, ann);
+            log.awaitDurable(log.append(MockEmployeeChange.Type.CREATED, bob));
+        }
+        var segment = PersistenceFiles.segment(directory, 1);
+        var intact = Files.size(segment);
+        try (var log = new WriteAheadLog(directory, 2)) {
+            log.awaitDurable(log.append(MockEmployeeChange.Type.CREATED, cy));
+        }
+        // A crash in the middle of writing the last frame
+        var torn = PersistenceFiles.segment(directory, 3);
+        try (var channel = FileChannel.open(torn, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        var created = new ArrayList<MockEmployee>();
+        assertThat(WriteAheadLog.replay(directory, 0, created::add, id -> {})).isEqualTo(2);
+        assertThat(created).containsExactly(ann, bob);
+        assertThat(Files.size(segment)).isEqualTo(intact);
+        assertThat(Files.size(torn)).isZero();
+
+        try (var log = new WriteAheadLog(directory, 2)) {
+            log.awaitDurable(log.append(MockEmployeeChange.Type.CREATED, cy));
+        }
+        created.clear();
+        assertThat(WriteAheadLog.replay(directory, 0, created::add, id -> {})).isEqualTo(3);
+        assertThat(created).containsExactly(ann, bob, cy);
+    }
+
+    @Test
+    void replay_ShouldFail_WhenASegmentOtherThanTheLastIsDamaged() throws IOException {
+        try (var log = new WriteAheadLog(directory, 0)) {
+            log.awaitDurable(log.append(MockEmployeeChange.Type.CREATED, ann));
+        }
+        try (var log = new WriteAheadLog(directory, 1)) {
+            log.awaitDurable(log.append(MockEmployeeChange.Type.CREATED, bob));
+        }
+        try (var channel = FileChannel.open(PersistenceFiles.segment(directory, 1), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertThatThrownBy(() -> WriteAheadLog.replay(directory, 0, employee -> {}, id -> {}))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("damaged");
+    }
+
+    @Test
+    void awaitDurable_ShouldFail_ForChangesAppendedAfterClose() throws IOException {
+        var log = new WriteAheadLog(directory, 0);
+        var before = log.append(MockEmployeeChange.Type.CREATED, ann);
+        log.close();
+
+        log.awaitDurable(before);
+        var after = log.append(MockEmployeeChange.Type.CREATED, bob);
+
+        assertThatThrownBy(() -> log.awaitDurable(after)).isInstanceOf(IllegalStateException.class);
+        var created = new ArrayList<MockEmployee>();
+        WriteAheadLog.replay(directory, 0, created::add, id -> {});
+        assertThat(created).isEqualTo(List.of(ann));
+    }
+
+    static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(name.length() * 10_000)
+                .age(30)
+                .title("Engineer")
+                .email(null)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class IdIndexTest {
+
+    private final IdIndex index = new IdIndex();
+
+    @Test
+    void get_ShouldFindEveryId_AfterOthersOnTheirProbePathWereRemoved() {
+        // Enough ids to collide in the table, so some are only reached by probing past removed slots
+        for (int i = 1; i <= 10_000; i++) {
+            index.put(id(i), i);
+        }
+        for (int i = 1; i <= 10_000; i += 2) {
+            assertThat(index.remove(id(i))).isEqualTo(i);
+        }
+
+        for (int i = 1; i <= 10_000; i++) {
+            assertThat(index.get(id(i))).isEqualTo(i % 2 == 0 ? i : 0);
+        }
+        assertThat(index.size()).isEqualTo(5_000);
+    }
+
+    @Test
+    void put_ShouldReuseRemovedIds_AndKeepThemAcrossRebuilds() {
+        for (int round = 0; round < 20; round++) {
+            for (int i = 1; i <= 1_000; i++) {
+                index.put(id(i), round * 1_000 + i);
+            }
+            for (int i = 1; i <= 1_000; i++) {
+                assertThat(index.get(id(i))).isEqualTo(round * 1_000 + i);
+                assertThat(index.remove(id(i))).isEqualTo(round * 1_000 + i);
+            }
+        }
+        index.put(id(7), 42);
+
+        assertThat(index.get(id(7))).isEqualTo(42);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_ShouldReturnZero_ForUnknownOrAlreadyRemovedIds() {
+        index.put(id(1), 1);
+
+        assertThat(index.remove(id(2))).isZero();
+        assertThat(index.remove(id(1))).isEqualTo(1);
+        assertThat(index.remove(id(1))).isZero();
+        assertThat(index.get(id(1))).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    private static UUID id(int i) {
+        return new UUID(i * 31L, i);
+    }
+}
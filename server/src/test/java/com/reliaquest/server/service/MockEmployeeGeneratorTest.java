@@ -0,0 +1,40 @@
+package com.reliaquest.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.HashSet;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    // Several full blocks and a partial one, so workers really do fill blocks out of order
+    private static final int COUNT = 3 * (1 << 16) + 123;
+
+    @Test
+    void generate_ShouldReturnSameRows_ForSameSeedWhateverTheWorkerCount() {
+        var sequential = new MockEmployeeGenerator(42, 1, Locale.ROOT).generate(COUNT);
+        var parallel = new MockEmployeeGenerator(42, 4, Locale.ROOT).generate(COUNT);
+
+        assertThat(parallel).hasSize(COUNT).isEqualTo(sequential);
+    }
+
+    @Test
+    void generate_ShouldReturnDifferentRows_ForDifferentSeeds() {
+        var first = new MockEmployeeGenerator(42, 2, Locale.ROOT).generate(1_000);
+        var second = new MockEmployeeGenerator(43, 2, Locale.ROOT).generate(1_000);
+
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    @Test
+    void generate_ShouldGiveEveryEmployeeUniqueEmail_WhenRosterOutgrowsUserNamePool() {
+        var employees = new MockEmployeeGenerator(42, 4, Locale.ROOT).generate(COUNT);
+
+        var emails = new HashSet<String>();
+        for (MockEmployee employee : employees) {
+            assertThat(emails.add(employee.getEmail())).as(employee.getEmail()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.reliaquest.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MockEmployeeStoreTest {
+
+    private final MockEmployee ann = employee("Ann Lee", 90000);
+    private final MockEmployee bob = employee("Bob Stone", 120000);
+    private final MockEmployee al = employee("Al", 70000);
+    private final MockEmployee annAgain = employee("ANN LEE", 120000);
+    private final MockEmployee cy = employee("Cy", null);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "columnar"})
+    void add_ShouldAppendInRosterOrder_AndReplaceSameId(String storage) {
+        var store = store(storage, List.of(ann, bob), 16);
+        var renamedAnn = ann.toBuilder().name("Ann Stone").build();
+
+        store.add(al);
+        store.add(renamedAnn);
+
+        assertThat(store.snapshot()).containsExactly(bob, al, renamedAnn);
+        assertThat(store.findById(ann.getId())).contains(renamedAnn);
+        assertThat(store.searchByName("stone")).containsExactly(bob, renamedAnn);
+        assertThat(store.searchByName("lee")).isEmpty();
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "columnar"})
+    void removeFirstByName_ShouldRemoveEarliestMatchIgnoringCase(String storage) {
+        var store = store(storage, List.of(ann, al, annAgain, cy), 16);
+
+        assertThat(store.removeFirstByName("ann lee")).contains(ann);
+        assertThat(store.removeFirstByName("ann lee")).contains(annAgain);
+        assertThat(store.removeFirstByName("ann lee")).isEmpty();
+        // Shorter than a trigram, so found through the exact name index alone
+        assertThat(store.removeFirstByName("AL")).contains(al);
+        assertThat(store.snapshot()).containsExactly(cy);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "columnar"})
+    void removeAll_ShouldRemoveIdsThenNames_AndReportWhatMatchedNothing(String storage) {
+        var store = store(storage, List.of(ann, bob, al, annAgain), 16);
+        var unknownId = UUID.randomUUID();
+
+        var result = store.removeAll(List.of(bob.getId(), unknownId), List.of("Ann Lee", "Zed", "ann lee", "ann lee"));
+
+        assertThat(result.deleted()).containsExactly(bob, ann, annAgain);
+        assertThat(result.missingIds()).containsExactly(unknownId);
+        assertThat(result.missingNames()).containsExactly("Zed", "ann lee");
+        assertThat(store.snapshot()).containsExactly(al);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "columnar"})
+    void page_ShouldResumeAfterCursor_WhileRosterChanges(String storage) {
+        var store = store(storage, List.of(ann, bob, al, cy), 16);
+
+        var first = store.page(0, 2);
+        assertThat(first.employees()).containsExactly(ann, bob);
+        assertThat(first.next()).isNotNull();
+
+        store.removeAll(List.of(ann.getId(), al.getId()), List.of());
+        store.add(annAgain);
+
+        var second = store.page(first.next(), 2);
+        assertThat(second.employees()).containsExactly(cy, annAgain);
+        assertThat(second.next()).isNull();
+        assertThat(store.page(0, 10).employees()).containsExactly(bob, cy, annAgain);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "columnar"})
+    void topBySalary_ShouldRankBySalary_WithoutRemovedOrUnpaidEmployees(String storage) {
+        var store = store(storage, List.of(ann, bob, al, annAgain, cy), 16);
+
+        store.removeAll(List.of(bob.getId()), List.of());
+
+        assertThat(store.topBySalary(10)).containsExactly(annAgain, ann, al);
+        assertThat(store.topBySalary(2)).containsExactly(annAgain, ann);
+        assertThat(store.highestSalary()).contains(120000);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "columnar"})
+    void changesSince_ShouldReplayChanges_UntilTheyAreOverwritten(String storage) {
+        var store = store(storage, List.of(ann), 2);
+        var initial = store.versionTag();
+
+        store.add(bob);
+        store.removeFirstByName("Ann Lee");
+
+        var feed = store.changesSince(initial).orElseThrow();
+        assertThat(feed.version()).isEqualTo(store.versionTag());
+        assertThat(feed.changes())
+                .extracting(MockEmployeeChange::type, MockEmployeeChange::employee)
+                .containsExactly(
+                        tuple(MockEmployeeChange.Type.CREATED, bob), tuple(MockEmployeeChange.Type.DELETED, ann));
+        assertThat(store.changesSince(store.versionTag()).orElseThrow().changes()).isEmpty();
+
+        store.add(al);
+        assertThat(store.changesSince(initial)).isEmpty();
+        assertThat(store.changesSince("other-0")).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "columnar"})
+    void snapshot_ShouldStayUnchanged_WhenStoreChangesAfterwards(String storage) {
+        var store = store(storage, List.of(ann, bob), 16);
+        var before = store.snapshot();
+
+        store.add(al);
+        store.removeFirstByName("Bob Stone");
+
+        assertThat(before).containsExactly(ann, bob);
+        assertThat(store.snapshot()).containsExactly(ann, al);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "columnar"})
+    void mutations_ShouldStayConsistent_WhenWritersAndReadersRunConcurrently(String storage) throws Exception {
+        var writers = 4;
+        var perWriter = 2_000;
+        var store = store(storage, List.of(), 16);
+        var executor = Executors.newFixedThreadPool(writers + 1);
+        var start = new CountDownLatch(1);
+        var writing = new AtomicBoolean(true);
+        var kept = new ArrayList<List<MockEmployee>>();
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int writer = 0; writer < writers; writer++) {
+                var employees = new ArrayList<MockEmployee>();
+                for (int i = 0; i < perWriter; i++) {
+                    employees.add(employee("Writer" + writer + " Employee" + i, i));
+                }
+                kept.add(employees.stream().filter(employee -> employee.getSalary() % 2 == 1).toList());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (var employee : employees) {
+                        store.add(employee);
+                        if (employee.getSalary() % 2 == 1) {
+                            continue;
+                        }
+                        // Upper case, so the removal goes through the case-folded name index
+                        assertThat(store.removeFirstByName(employee.getName().toUpperCase(Locale.ROOT)))
+                                .contains(employee);
+                    }
+                    return null;
+                }));
+            }
+            var reader = executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    var snapshot = store.snapshot();
+                    assertThat(new HashSet<>(snapshot)).hasSameSizeAs(snapshot);
+                    assertThat(snapshot.size()).isLessThanOrEqualTo(writers * perWriter);
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var expected = kept.stream().flatMap(List::stream).toList();
+        assertThat(store.size()).isEqualTo(expected.size());
+        assertThat(store.snapshot()).containsExactlyInAnyOrderElementsOf(expected);
+        expected.forEach(employee -> assertThat(store.findById(employee.getId())).contains(employee));
+    }
+
+    private static MockEmployeeStore store(String storage, List<MockEmployee> employees, int changeLogCapacity) {
+        EmployeeTable table = storage.equals("heap") ? new HeapEmployeeTable() : new ColumnarEmployeeTable();
+        return new MockEmployeeStore(employees, changeLogCapacity, table);
+    }
+
+    private static MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Engineer")
+                .email(name.toLowerCase(Locale.ROOT).replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RandomRequestLimitInterceptorTest {
+
+    private RandomRequestLimitInterceptor interceptor;
+
+    @AfterEach
+    void tearDown() {
+        interceptor.close();
+    }
+
+    private MockHttpServletResponse request(String client) {
+        var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr(client);
+        var response = new MockHttpServletResponse();
+        var accepted = interceptor.preHandle(request, response, new Object());
+        assertThat(accepted).isEqualTo(response.getStatus() == HttpStatus.OK.value());
+        return response;
+    }
+
+    @Test
+    void preHandle_ShouldCountDownRemaining_ThenRejectWithRetryAfter() {
+        interceptor = new RandomRequestLimitInterceptor(3, Duration.ofSeconds(30), false, 0);
+
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("2");
+        assertThat(request("10.0.0.2").getHeader("X-RateLimit-Remaining")).isEqualTo("1");
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+
+        var rejected = request("10.0.0.3");
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+        // One token comes back every 10s
+        assertThat(Integer.parseInt(rejected.getHeader(HttpHeaders.RETRY_AFTER))).isBetween(9, 10);
+    }
+
+    @Test
+    void preHandle_ShouldAcceptAgain_OnceATokenHasRefilled() throws InterruptedException {
+        interceptor = new RandomRequestLimitInterceptor(1, Duration.ofMillis(500), false, 0);
+
+        assertThat(request("10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        var rejected = request("10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        // Rounded up to whole seconds, never to zero
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        Thread.sleep(600);
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+    }
+
+    @Test
+    void preHandle_ShouldRefillOneTokenPerInterval_NotTheWholeBurst() throws InterruptedException {
+        interceptor = new RandomRequestLimitInterceptor(2, Duration.ofMillis(1000), false, 0);
+
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("1");
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(request("10.0.0.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        Thread.sleep(600);
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(request("10.0.0.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        Thread.sleep(1100);
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("1");
+    }
+
+    @Test
+    void preHandle_ShouldLimitEveryClientOnItsOwn_WhenPerClient() {
+        interceptor = new RandomRequestLimitInterceptor(2, Duration.ofSeconds(30), true, 100);
+
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("1");
+        assertThat(request("10.0.0.1").getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(request("10.0.0.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        assertThat(request("10.0.0.2").getHeader("X-RateLimit-Remaining")).isEqualTo("1");
+    }
+
+    @Test
+    void preHandle_ShouldShareOneBucketAmongNewClients_OnceMaxTrackedClientsIsReached() {
+        interceptor = new RandomRequestLimitInterceptor(1, Duration.ofSeconds(30), true, 1);
+
+        assertThat(request("10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(request("10.0.0.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(request("10.0.0.3").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(request("10.0.0.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+}